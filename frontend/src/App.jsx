@@ -10,12 +10,41 @@ const api = axios.create({
     withCredentials: true
 });
 
+// JWT: access 토큰을 모든 요청에 싣고, 만료(401)되면 refresh 토큰으로 한 번 재발급 후 재시도
+const authHeader = () => {
+    const token = localStorage.getItem('accessToken');
+    return token ? { Authorization: `Bearer ${token}` } : {};
+};
+
+const saveTokens = (data) => {
+    if (data?.accessToken) localStorage.setItem('accessToken', data.accessToken);
+    if (data?.refreshToken) localStorage.setItem('refreshToken', data.refreshToken);
+};
+
+api.interceptors.request.use(config => {
+    config.headers = { ...config.headers, ...authHeader() };
+    return config;
+});
+
+api.interceptors.response.use(undefined, async error => {
+    const original = error.config;
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (error.response?.status !== 401 || original._retried || !refreshToken || original.url === '/api/auth/refresh') {
+        throw error;
+    }
+    original._retried = true;
+    const { data } = await api.post('/api/auth/refresh', { refreshToken });
+    saveTokens(data);
+    return api(original);
+});
+
 function App() {
     // --- 상태 관리 ---
     const [resume, setResume] = useState('');
     const [result, setResult] = useState('');
     const [loading, setLoading] = useState(false);
     const [history, setHistory] = useState([]);
+    const [historyCursor, setHistoryCursor] = useState(null);
     const [selectedId, setSelectedId] = useState(null);
     const [messages, setMessages] = useState([]);
     const [inputChat, setInputChat] = useState('');
@@ -48,14 +77,30 @@ function App() {
         try {
             await api.post('/api/ai/send-email', {
                 email: targetEmail,
-                content: result
+                content: result,
+                ...(selectedId ? { historyId: String(selectedId) } : {})
             });
-            alert("이메일이 성공적으로 발송되었습니다.");
+            alert("이메일 발송 요청이 접수되었습니다.");
         } catch (error) {
             alert("이메일 발송에 실패했습니다.");
         }
     };
 
+    // PDF 저장 (토큰을 실어야 하므로 페이지 이동 대신 요청으로 받아 저장한다)
+    const handlePdfDownload = async () => {
+        try {
+            const response = await api.get(`/api/ai/download-pdf/${selectedId}`, { responseType: 'blob' });
+            const url = URL.createObjectURL(response.data);
+            const link = document.createElement('a');
+            link.href = url;
+            link.download = '분석리포트.pdf';
+            link.click();
+            URL.revokeObjectURL(url);
+        } catch (error) {
+            alert("PDF를 내려받지 못했습니다.");
+        }
+    };
+
     // 회원가입
     const handleSignup = async () => {
         if (!authData.email || !authData.password || !authData.nickname) return alert("모든 항목을 입력해주세요.");
@@ -81,6 +126,7 @@ function App() {
                 password: authData.password
             });
 
+            saveTokens(response.data);
             alert("로그인 성공!");
 
             // 서버 응답에서 닉네임 추출 (서버에서 넘겨주는 key값 확인 필요)
@@ -119,6 +165,8 @@ function App() {
 
         localStorage.removeItem('isLoggedIn');
         localStorage.removeItem('user');
+        localStorage.removeItem('accessToken');
+        localStorage.removeItem('refreshToken');
 
         alert("로그아웃 되었습니다.");
     };
@@ -138,15 +186,28 @@ function App() {
     };
 
     // --- 분석 기능 함수 ---
-    const fetchHistory = async () => {
+    // 목록은 미리보기만 커서 단위로 받아오고, 항목을 선택할 때 상세를 불러온다.
+    const fetchHistory = async (cursor = null) => {
         try {
-            const { data } = await api.get('/api/ai/history');
-            setHistory(data);
+            const { data } = await api.get('/api/ai/history', { params: cursor ? { cursor } : {} });
+            setHistory(prev => cursor ? [...prev, ...data.items] : data.items);
+            setHistoryCursor(data.nextCursor);
         } catch (error) {
             console.error("이력 로드 실패:", error);
         }
     };
 
+    const selectHistory = async (id) => {
+        try {
+            const { data } = await api.get(`/api/ai/history/${id}`);
+            setResult(data.aiResponse);
+            setResume(data.userResume);
+            setSelectedId(id);
+        } catch (error) {
+            alert("이력을 불러오지 못했습니다.");
+        }
+    };
+
     useEffect(() => {
         if (isLoggedIn) fetchHistory();
     }, [isLoggedIn]);
@@ -158,10 +219,18 @@ function App() {
             const socket = new SockJS('http://localhost:8080/ws-chat');
             const client = Stomp.over(socket);
             client.debug = null;
-            client.connect({}, () => {
+            // STOMP 연결도 로그인 필요: JWT는 CONNECT 헤더로, 세션 로그인은 핸드셰이크 쿠키로 인증된다.
+            client.connect(authHeader(), () => {
                 client.subscribe(`/topic/messages/${selectedId}`, (sdkEvent) => {
-                    const newMessage = JSON.parse(sdkEvent.body);
-                    setMessages(prev => [...prev, newMessage]);
+                    const frame = JSON.parse(sdkEvent.body);
+                    // 스트리밍 답변: seq 0이면 새 말풍선, 이후 조각은 마지막 AI 말풍선에 이어 붙인다.
+                    setMessages(prev => {
+                        const lastMsg = prev[prev.length - 1];
+                        if (frame.seq > 0 && lastMsg?.sender === frame.sender) {
+                            return [...prev.slice(0, -1), { ...lastMsg, content: lastMsg.content + frame.content }];
+                        }
+                        return [...prev, { sender: frame.sender, content: frame.content }];
+                    });
                 });
             });
             setStompClient(client);
@@ -178,8 +247,41 @@ function App() {
         setLoading(true);
         setResult(''); // 새로운 분석 시작 시 이전 결과 초기화
         try {
-            const { data } = await api.post('/api/ai/resume-check', { resume });
-            setResult(data.content);
+            // SSE 스트리밍: 청크가 도착하는 대로 리포트에 이어 붙인다.
+            const response = await fetch('http://localhost:8080/api/ai/resume-check/stream', {
+                method: 'POST',
+                credentials: 'include',
+                headers: { 'Content-Type': 'application/json', 'Accept': 'text/event-stream', ...authHeader() },
+                body: JSON.stringify({ resume })
+            });
+            if (response.status === 429) {
+                const { content } = await response.json();
+                alert(`${content} (${response.headers.get('Retry-After')}초 후 다시 시도)`);
+                return;
+            }
+            if (!response.ok) throw new Error(`HTTP ${response.status}`);
+
+            const reader = response.body.getReader();
+            const decoder = new TextDecoder();
+            let buffer = '';
+            while (true) {
+                const { value, done } = await reader.read();
+                if (done) break;
+                buffer += decoder.decode(value, { stream: true });
+                const events = buffer.split('\n\n');
+                buffer = events.pop();
+                for (const raw of events) {
+                    const lines = raw.split('\n');
+                    const name = lines.find(l => l.startsWith('event:'))?.slice(6).trim();
+                    const data = lines.filter(l => l.startsWith('data:')).map(l => l.slice(5)).join('\n');
+                    if (name === 'chunk') {
+                        setLoading(false);
+                        setResult(prev => prev + data);
+                    } else if (name === 'error') {
+                        setResult(data);
+                    }
+                }
+            }
             fetchHistory();
         } catch (error) {
             alert("분석 중 오류 발생");
@@ -270,12 +372,15 @@ function App() {
                         <h3 style={styles.cardTitle}>🕒 검토 히스토리</h3>
                         <div style={styles.historyList}>
                             {history.map((item) => (
-                                <div key={item.id} onClick={() => { setResult(item.aiResponse); setResume(item.userResume); setSelectedId(item.id); }}
+                                <div key={item.id} onClick={() => selectHistory(item.id)}
                                      style={{ ...styles.historyItem, backgroundColor: selectedId === item.id ? '#2e7d32' : '#2a2a2a' }}>
                                     <span style={styles.historyDate}>{new Date(item.createdAt).toLocaleString()}</span>
-                                    <p style={styles.historyText}>{item.userResume.substring(0, 35)}...</p>
+                                    <p style={styles.historyText}>{(item.preview || '').substring(0, 35)}...</p>
                                 </div>
                             ))}
+                            {historyCursor && (
+                                <button onClick={() => fetchHistory(historyCursor)} style={styles.miniBtn}>더 보기</button>
+                            )}
                         </div>
                     </div>
                 </section>
@@ -294,7 +399,7 @@ function App() {
                             {/* PDF 저장 버튼: 저장된 데이터(selectedId)가 있을 때만 표시 */}
                             {selectedId && (
                                 <button
-                                    onClick={() => window.location.href=`http://localhost:8080/api/ai/download-pdf/${selectedId}`}
+                                    onClick={handlePdfDownload}
                                     style={styles.downloadButton}
                                 >
                                     PDF 저장
@@ -0,0 +1,78 @@
+package org.example.resumepro.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.example.resumepro.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청당 인증 오버헤드(us/op).
+ * sessionLookup: 기존 방식의 세션 속성 조회 (세션 저장소가 로컬 메모리일 때의 하한).
+ * cachedParser: JwtUtil처럼 키/파서를 재사용해 access 토큰을 검증한다.
+ * parserPerRequest: 요청마다 키를 디코딩하고 파서를 새로 만든다.
+ * jwtFilter: JwtFilter 전체 (헤더 파싱, 검증, SecurityContext 설정).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "cmVzdW1lcHJvLWJlbmNobWFyay1zZWNyZXQta2V5LTMyYnl0ZXMhIQ==";
+
+    private JwtUtil jwtUtil;
+    private JwtFilter jwtFilter;
+    private String accessToken;
+    private MockHttpSession session;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, Duration.ofHours(1), Duration.ofDays(14));
+        jwtFilter = new JwtFilter(jwtUtil);
+        User user = User.builder().id(1L).email("bench@resumepro.dev").nickname("벤치").role("ROLE_USER").build();
+        accessToken = jwtUtil.createAccessToken(user);
+        session = new MockHttpSession();
+        session.setAttribute("user", user);
+    }
+
+    @Benchmark
+    public Object sessionLookup() {
+        return session.getAttribute("user");
+    }
+
+    @Benchmark
+    public User cachedParser() {
+        return jwtUtil.parseAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public Claims parserPerRequest() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(accessToken)
+                .getBody();
+    }
+
+    @Benchmark
+    public Object jwtFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ai/history");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+        try {
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.resumepro.pdf;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 PDF 텍스트 추출 시간(ms/op). 분석 업로드(extractTextFromPdf)와 같은 경로로,
+ * 추출 전용 풀에 넘기고 페이지 단위로 읽는 비용까지 포함한다.
+ * 표본 PDF는 PdfReportRenderer로 한글 이력서 분량(pages 파라미터 ≒ 쪽 수)을 만들어 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DocumentExtractionBenchmark {
+
+    private static final String FONT_LOCATION =
+            System.getProperty("resumepro.pdf.font-location", "classpath:fonts/NanumGothic.ttf");
+    // A4 한 쪽에 들어가는 대략의 줄 수
+    private static final int LINES_PER_PAGE = 40;
+
+    @Param({"1", "5", "20"})
+    public int pages;
+
+    private DocumentTextExtractor extractor;
+    private MockMultipartFile file;
+
+    @Setup
+    public void setUp() {
+        PdfReportRenderer renderer = new PdfReportRenderer(new DefaultResourceLoader(), FONT_LOCATION);
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= pages * LINES_PER_PAGE; i++) {
+            text.append(i).append(". 대용량 트래픽 환경에서 Spring Boot와 JPA로 주문 API를 설계하고 응답 시간을 40% 줄였습니다.\n");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(LocalDateTime.now(), text.toString(), out);
+        file = new MockMultipartFile("file", "resume.pdf", "application/pdf", out.toByteArray());
+
+        extractor = new DocumentTextExtractor(16 * 1024 * 1024, 30, 50_000, Duration.ofSeconds(20),
+                1, 32, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Benchmark
+    public String extract() {
+        return extractor.extract(file);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.resumepro.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 다운로드 처리량(ops/s = 다운로드/초) 비교.
+ * perRequestFont: 기존 방식처럼 요청마다 TTF를 다시 파싱해 BaseFont를 만든다.
+ * sharedFont: PdfReportRenderer가 시작 시 만든 BaseFont/Font를 재사용한다.
+ * (캐시 적중 시에는 렌더링 없이 바이트 복사만 하므로 별도로 측정하지 않는다.)
+ *
+ * 폰트 위치는 -Dresumepro.pdf.font-location=file:/path/to/font.ttf 로 바꿀 수 있다.
+ * 폰트 파일은 저장소에 들어 있지 않으므로, 지정한 위치에도 OS 기본 한글 폰트에도 없으면 측정을 건너뛴다(빈 결과).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PdfReportBenchmark {
+
+    private static final String FONT_LOCATION =
+            System.getProperty("resumepro.pdf.font-location", "classpath:fonts/NanumGothic.ttf");
+
+    private PdfReportRenderer renderer;
+    private byte[] fontBytes;
+    private String aiResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        renderer = new PdfReportRenderer(resourceLoader, FONT_LOCATION);
+        fontBytes = readFont(resourceLoader);
+        if (fontBytes == null || !renderer.isAvailable()) {
+            fontBytes = null;
+            System.out.printf("%n한글 폰트가 없어 PdfReportBenchmark를 건너뜁니다: %s%n", FONT_LOCATION);
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (String section : new String[]{"[강점]", "[약점]", "[개선 방향]", "[보완점]", "[면접 전략]"}) {
+            text.append(section).append('\n');
+            for (int i = 1; i <= 8; i++) {
+                text.append(i).append(". Spring Boot 기반 백엔드 프로젝트 경험과 협업 과정에서의 문제 해결 사례를 구체적인 수치와 함께 서술했습니다.\n");
+            }
+            text.append('\n');
+        }
+        aiResponse = text.toString();
+    }
+
+    @Benchmark
+    public byte[] perRequestFont() throws Exception {
+        if (fontBytes == null) return new byte[0];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A4, 50, 50, 50, 50);
+        PdfWriter.getInstance(document, out);
+        document.open();
+
+        BaseFont baseFont = BaseFont.createFont("benchmark.ttf", BaseFont.IDENTITY_H, BaseFont.EMBEDDED,
+                false, fontBytes, null);
+        Font titleFont = new Font(baseFont, 20, Font.BOLD);
+        Font contentFont = new Font(baseFont, 11, Font.NORMAL);
+
+        document.add(new Paragraph("사용자님의 AI 이력서 분석 리포트", titleFont));
+        document.add(new Paragraph("분석 일시: " + LocalDateTime.now(), contentFont));
+        document.add(new Paragraph(aiResponse, contentFont));
+        document.close();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] sharedFont() {
+        if (fontBytes == null) return new byte[0];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(LocalDateTime.now(), aiResponse, out);
+        return out.toByteArray();
+    }
+
+    // 렌더러와 같은 순서로 찾는다: 지정한 위치, 그다음 OS 기본 한글 폰트
+    private static byte[] readFont(DefaultResourceLoader resourceLoader) throws IOException {
+        Resource resource = resourceLoader.getResource(FONT_LOCATION);
+        if (resource.exists()) {
+            try (InputStream in = resource.getInputStream()) {
+                return in.readAllBytes();
+            }
+        }
+        for (String fallback : PdfReportRenderer.SYSTEM_FONT_FALLBACKS) {
+            if (Files.exists(Path.of(fallback))) {
+                return Files.readAllBytes(Path.of(fallback));
+            }
+        }
+        return null;
+    }
+}
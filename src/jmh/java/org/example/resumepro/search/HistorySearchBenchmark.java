@@ -0,0 +1,103 @@
+package org.example.resumepro.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.resumepro.dto.HistorySearchPage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이력 rows건(기본 100만) 색인에서 사용자별 검색 지연(us/op, 첫 페이지 20건 + 하이라이트).
+ * 사용자 1만 명에게 고르게(1인당 약 100건) 나누고, 한 명(heavy)에게는 1만 건을 준다.
+ * rare: 문서 열 건 중 한 건 정도에 나오는 단어, common: 대부분의 문서에 나오는 단어 두 개(AND).
+ * 색인 구성에 몇 분 걸리므로 tmpdir에 만들어 두고 건수가 같으면 다시 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HistorySearchBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int HEAVY_USER_ROWS = 10_000;
+    private static final String HEAVY_USER = "heavy@resumepro.test";
+    private static final int WORDS_PER_FIELD = 60;
+    private static final int BATCH = 10_000;
+
+    private static final String[] COMMON = {
+            "백엔드", "개발", "프로젝트", "경험", "서비스", "운영", "성능", "개선", "협업", "설계",
+            "Java", "Spring", "API", "데이터베이스", "배포", "테스트", "리뷰", "문서", "장애", "모니터링"};
+    private static final String[] RARE = {"쿠버네티스", "Kafka", "Terraform", "GraphQL", "Rust"};
+    private static final String[] FILLER = {"하였습니다", "담당했습니다", "에서", "을", "를", "위해", "통해", "그리고"};
+
+    @Param({"1000000"})
+    public int rows;
+
+    private HistorySearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"), "resumepro", "bench-search-index-" + rows);
+        index = new HistorySearchIndex(dir, 256, new SimpleMeterRegistry());
+        if (index.numDocs() == rows) return;
+
+        index.deleteAll();
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<HistoryDocument> batch = new ArrayList<>(BATCH);
+        for (long id = 1; id <= rows; id++) {
+            String user = id <= HEAVY_USER_ROWS ? HEAVY_USER : "user" + (id % USERS) + "@resumepro.test";
+            batch.add(new HistoryDocument(id, user, base.plusMinutes(id), text(random), text(random)));
+            if (batch.size() == BATCH) {
+                index.index(batch);
+                batch.clear();
+            }
+        }
+        index.index(batch);
+        index.commit();
+        index.refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public HistorySearchPage rareTermTypicalUser() {
+        return index.search(randomUser(), "쿠버네티스", 0, 20);
+    }
+
+    @Benchmark
+    public HistorySearchPage commonTermsTypicalUser() {
+        return index.search(randomUser(), "Spring 성능", 0, 20);
+    }
+
+    @Benchmark
+    public HistorySearchPage commonTermsHeavyUser() {
+        return index.search(HEAVY_USER, "Spring 성능", 0, 20);
+    }
+
+    private static String randomUser() {
+        return "user" + ThreadLocalRandom.current().nextInt(USERS) + "@resumepro.test";
+    }
+
+    // 흔한 단어 위주, 100단어 중 하나꼴로 드문 단어
+    private static String text(Random random) {
+        StringBuilder text = new StringBuilder(WORDS_PER_FIELD * 6);
+        for (int i = 0; i < WORDS_PER_FIELD; i++) {
+            int pick = random.nextInt(100);
+            String word = pick < 1 ? RARE[random.nextInt(RARE.length)]
+                    : pick < 70 ? COMMON[random.nextInt(COMMON.length)]
+                    : FILLER[random.nextInt(FILLER.length)];
+            text.append(word).append(i % 12 == 11 ? ".\n" : " ");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.resumepro.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.resumepro.ai.HashingEmbeddingModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이력서 벡터 rows건(기본 10만, 256차원)에서 top-10 유사 이력서 조회 지연(us/op).
+ * hnsw: Lucene HNSW 색인, hnswOwnHistory: 한 사용자(100건) 안에서만 찾기 (서비스가 실제로 쓰는 조회),
+ * bruteForce: float[][] 전체를 내적으로 훑는 기준값.
+ * 벡터는 클러스터 200개 주변에 흩어 놓아(비슷한 이력서 묶음) 실제 임베딩처럼 이웃이 몰려 있게 한다.
+ * 재현율(recall@10, 전체 훑기 결과 대비)은 setup에서 쿼리 200개로 재서 출력한다.
+ * 색인은 tmpdir에 만들어 두고 건수가 같으면 다시 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResumeVectorBenchmark {
+
+    private static final int DIMENSIONS = 256;
+    private static final int CLUSTERS = 200;
+    private static final int USERS = 1_000;
+    private static final int K = 10;
+    private static final int RECALL_QUERIES = 200;
+    private static final int BATCH = 10_000;
+    private static final String MODEL = "bench";
+
+    @Param({"100000"})
+    public int rows;
+
+    private ResumeVectorIndex index;
+    private float[][] vectors;
+    private float[][] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        float[][] centroids = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centroids[c] = HashingEmbeddingModel.normalize(gaussian(random, 1f));
+        }
+        vectors = new float[rows][];
+        for (int i = 0; i < rows; i++) {
+            vectors[i] = near(centroids[random.nextInt(CLUSTERS)], random, 0.5f);
+        }
+        queries = new float[1_000][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = near(vectors[random.nextInt(rows)], random, 0.2f);
+        }
+
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"), "resumepro", "bench-vector-index-" + rows);
+        index = new ResumeVectorIndex(dir, new SimpleMeterRegistry());
+        if (!MODEL.equals(index.model()) || index.numDocs() != rows) {
+            index.reset(MODEL);
+            LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+            List<VectorDocument> batch = new ArrayList<>(BATCH);
+            for (int i = 0; i < rows; i++) {
+                batch.add(new VectorDocument((long) i + 1, user(i), base.plusMinutes(i), vectors[i]));
+                if (batch.size() == BATCH) {
+                    index.index(batch);
+                    batch.clear();
+                }
+            }
+            index.index(batch);
+            index.commit();
+        }
+        index.refresh();
+
+        double found = 0;
+        for (int q = 0; q < RECALL_QUERIES; q++) {
+            Set<Long> exact = new HashSet<>();
+            for (int i : bruteForce(queries[q])) {
+                exact.add((long) i + 1);
+            }
+            found += index.search(queries[q], null, K).stream().filter(hit -> exact.contains(hit.historyId())).count();
+        }
+        System.out.printf("%nrecall@%d (HNSW vs brute force, %d queries): %.3f%n", K, RECALL_QUERIES, found / (RECALL_QUERIES * K));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public List<ResumeVectorIndex.Hit> hnsw() {
+        return index.search(randomQuery(), null, K);
+    }
+
+    @Benchmark
+    public List<ResumeVectorIndex.Hit> hnswOwnHistory() {
+        return index.search(randomQuery(), user(ThreadLocalRandom.current().nextInt(rows)), K);
+    }
+
+    @Benchmark
+    public int[] bruteForce() {
+        return bruteForce(randomQuery());
+    }
+
+    // 내적 상위 K개 (작은 값부터 밀어내는 고정 크기 배열)
+    private int[] bruteForce(float[] query) {
+        int[] top = new int[K];
+        float[] scores = new float[K];
+        Arrays.fill(scores, Float.NEGATIVE_INFINITY);
+        for (int i = 0; i < vectors.length; i++) {
+            float[] vector = vectors[i];
+            float score = 0;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                score += query[d] * vector[d];
+            }
+            if (score <= scores[K - 1]) continue;
+
+            int at = K - 1;
+            while (at > 0 && scores[at - 1] < score) {
+                scores[at] = scores[at - 1];
+                top[at] = top[at - 1];
+                at--;
+            }
+            scores[at] = score;
+            top[at] = i;
+        }
+        return top;
+    }
+
+    private float[] randomQuery() {
+        return queries[ThreadLocalRandom.current().nextInt(queries.length)];
+    }
+
+    private static String user(int row) {
+        return "user" + (row % USERS) + "@resumepro.test";
+    }
+
+    private static float[] near(float[] center, Random random, float spread) {
+        float[] noise = gaussian(random, spread);
+        for (int d = 0; d < DIMENSIONS; d++) {
+            noise[d] += center[d];
+        }
+        return HashingEmbeddingModel.normalize(noise);
+    }
+
+    // 길이가 대략 scale인 무작위 벡터
+    private static float[] gaussian(Random random, float scale) {
+        float[] vector = new float[DIMENSIONS];
+        double sigma = scale / Math.sqrt(DIMENSIONS);
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = (float) (random.nextGaussian() * sigma);
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.resumepro.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 1회의 비밀번호 확인 시간(ms/op)을 BCrypt 강도별로 측정한다.
+ * 강도가 1 오를 때마다 비용이 약 2배가 되므로, resumepro.auth.password.bcrypt-strength와
+ * resumepro.auth.hashing.threads를 정할 때 (초당 로그인 수 x 1회 시간 / 코어 수)로 필요한 코어를 가늠한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "resume-pro-password!";
+
+    @Param({"4", "8", "10", "12"})
+    public int strength;
+
+    private PasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        encoded = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.resumepro.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 응답 마크다운 제거 비용(us/op).
+ * perCallRegex: 예전 방식처럼 호출마다 replaceAll로 패턴을 다시 컴파일한다.
+ * precompiled: MarkdownCleaner.clean (미리 컴파일한 패턴 재사용).
+ * incremental: 스트리밍 경로처럼 같은 응답을 토큰 크기 청크로 나눠 Incremental로 처리한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkdownCleanerBenchmark {
+
+    private static final int CHUNK_CHARS = 8;
+
+    private String response;
+    private List<String> chunks;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder();
+        for (String section : new String[]{"[강점]", "[약점]", "[개선 방향]", "[보완점]", "[면접 전략]"}) {
+            text.append("### ").append(section).append('\n');
+            for (int i = 1; i <= 8; i++) {
+                text.append("- **항목 ").append(i).append("**: `Spring Boot` 기반 프로젝트에서 성능 개선 경험을 수치로 제시했습니다.\n");
+            }
+        }
+        response = text.toString();
+
+        chunks = new ArrayList<>();
+        for (int i = 0; i < response.length(); i += CHUNK_CHARS) {
+            chunks.add(response.substring(i, Math.min(response.length(), i + CHUNK_CHARS)));
+        }
+    }
+
+    @Benchmark
+    public String perCallRegex() {
+        return response.replaceAll("[#*`]", "").replace("- ", "• ");
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return MarkdownCleaner.clean(response);
+    }
+
+    @Benchmark
+    public int incremental() {
+        MarkdownCleaner.Incremental cleaner = MarkdownCleaner.incremental();
+        int length = 0;
+        for (String chunk : chunks) {
+            length += cleaner.apply(chunk).length();
+        }
+        return length + cleaner.flush().length();
+    }
+}
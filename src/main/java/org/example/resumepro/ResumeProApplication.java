@@ -2,8 +2,12 @@ package org.example.resumepro;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(exclude = { org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class })
+@PropertySource("classpath:resumepro.properties")
+@EnableScheduling
 public class ResumeProApplication {
     public static void main(String[] args) {
         SpringApplication.run(ResumeProApplication.class, args);
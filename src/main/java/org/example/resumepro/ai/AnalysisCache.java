@@ -0,0 +1,15 @@
+package org.example.resumepro.ai;
+
+import java.util.Optional;
+
+/**
+ * 이력서 분석 결과 캐시. 키는 {@link ResumeFingerprint}로 만든 내용 기반 해시다.
+ * 기본 구현은 프로세스 내 Caffeine 캐시이며, resumepro.ai.cache.type=database 로
+ * ResumeHistory.contentHash 인덱스를 조회하는 구현으로 바꿀 수 있다.
+ */
+public interface AnalysisCache {
+
+    Optional<String> get(String key);
+
+    void put(String key, String aiResponse);
+}
@@ -0,0 +1,45 @@
+package org.example.resumepro.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 프로세스 내 분석 결과 캐시. Caffeine의 W-TinyLFU 정책으로 크기를 제한하고 TTL로 만료시킨다.
+ * 적중/미스/제거 통계는 cache.gets, cache.evictions 등의 이름으로 Micrometer에 노출된다.
+ */
+@Component
+@ConditionalOnProperty(name = "resumepro.ai.cache.type", havingValue = "memory", matchIfMissing = true)
+public class CaffeineAnalysisCache implements AnalysisCache {
+
+    private final Cache<String, String> cache;
+
+    public CaffeineAnalysisCache(
+            @Value("${resumepro.ai.cache.max-size:1000}") long maxSize,
+            @Value("${resumepro.ai.cache.ttl:24h}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "resumeAnalysis");
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    @Override
+    public void put(String key, String aiResponse) {
+        cache.put(key, aiResponse);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.resumepro.ai;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * 최근 window-size번 호출의 실패율이 threshold를 넘으면 open-duration 동안 호출을 바로 거절하고(OPEN),
+ * 그 뒤 한 번의 시험 호출(HALF_OPEN)이 성공하면 다시 닫는다. 호출당 한 번만 갱신되므로(LLM 호출은 수 초)
+ * 단순하게 synchronized로 보호한다.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int recorded;
+    private int failures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration) {
+        this.name = name;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * 호출해도 되면 true. true를 받은 호출은 결과에 따라 onSuccess/onFailure/onCancel 중 하나를 반드시 호출해야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openUntil < 0) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            reset();
+            transition(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    // 결과 없이 끝난 호출 (클라이언트 취소, 업스트림과 무관한 요청 오류 등): 상태는 그대로 두고 시험 호출 자리만 반납한다.
+    public synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // OPEN 상태에서 다시 시도할 수 있을 때까지 남은 시간
+    public synchronized Duration remainingOpenTime() {
+        return state == State.OPEN ? Duration.ofNanos(Math.max(0, openUntil - System.nanoTime())) : Duration.ZERO;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[position]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failure;
+        if (failure) failures++;
+        position = (position + 1) % outcomes.length;
+    }
+
+    private void open() {
+        openUntil = System.nanoTime() + openNanos;
+        reset();
+        transition(State.OPEN);
+    }
+
+    private void reset() {
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            log.warn("회로 차단기 [{}] {} -> {}", name, state, next);
+            state = next;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.ResumeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * ResumeHistory 테이블 자체를 캐시 저장소로 쓰는 구현 (content_hash 인덱스 조회).
+ * 분석 결과는 어차피 ResumeHistory로 저장되므로 put은 아무것도 하지 않는다.
+ * 대신 put을 건너뛰는 결과(빈 응답, 일부만 채워진 결과, 이전 이력 참고 결과)는 cacheable=false로 저장되고,
+ * 조회는 cacheable 행만 본다.
+ */
+@Component
+@ConditionalOnProperty(name = "resumepro.ai.cache.type", havingValue = "database")
+public class DatabaseAnalysisCache implements AnalysisCache {
+
+    private final ResumeRepository resumeRepository;
+    private final Counter hits;
+    private final Counter misses;
+
+    public DatabaseAnalysisCache(ResumeRepository resumeRepository, MeterRegistry meterRegistry) {
+        this.resumeRepository = resumeRepository;
+        this.hits = Counter.builder("cache.gets").tag("cache", "resumeAnalysis").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "resumeAnalysis").tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        Optional<String> cached = resumeRepository.findFirstByContentHashAndCacheableTrueOrderByCreatedAtDesc(key)
+                .map(ResumeHistory::getAiResponse);
+        (cached.isPresent() ? hits : misses).increment();
+        return cached;
+    }
+
+    @Override
+    public void put(String key, String aiResponse) {
+    }
+}
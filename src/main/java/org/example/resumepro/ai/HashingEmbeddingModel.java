@@ -0,0 +1,90 @@
+package org.example.resumepro.ai;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 네트워크 없이 동작하는 결정적 임베딩 모델. 글자 3-gram을 해시해 dimensions개 칸에 부호와 함께 더하고
+ * 길이 1로 정규화한다 (feature hashing). 의미까지 잡지는 못하지만 같은 입력은 항상 같은 벡터가 되고,
+ * 일부만 고친 이력서는 코사인 유사도가 1에 가깝게 나와 거의 같은 이력서 찾기에 충분하다.
+ * 외부 임베딩 모델이 없을 때의 기본값이자 테스트/벤치마크용 모델이다.
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int GRAM = 3;
+
+    private final int dimensions;
+
+    public HashingEmbeddingModel(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive: " + dimensions);
+        }
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<Embedding> embeddings = new ArrayList<>(request.getInstructions().size());
+        for (String text : request.getInstructions()) {
+            embeddings.add(new Embedding(embed(text), embeddings.size()));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        String normalized = text == null ? "" : WHITESPACE.matcher(
+                Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            int hash = mix(normalized.substring(i, i + GRAM).hashCode());
+            vector[Math.floorMod(hash, dimensions)] += (hash & 0x8000_0000) == 0 ? 1f : -1f;
+        }
+        return normalize(vector);
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    // String.hashCode의 하위 비트 편향을 섞는다 (murmur3 finalizer)
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85eb_ca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2_ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 길이 1로 정규화한다 (영벡터는 그대로). 내적이 곧 코사인 유사도가 되도록 색인 전에 쓴다.
+     */
+    public static float[] normalize(float[] vector) {
+        double sum = 0;
+        for (float v : vector) {
+            sum += v * v;
+        }
+        if (sum == 0) return vector;
+        float scale = (float) (1 / Math.sqrt(sum));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatClient 호출 전체에 걸리는 전역 동시 호출 상한. 허용 수를 넘으면 acquire-timeout까지만 기다리고
+ * 그래도 자리가 없으면 RateLimitExceededException으로 거절한다 (Gemini 할당량과 지연을 전체 사용자에게 보호).
+ * 스트리밍은 스트림이 끝나거나 취소될 때 자리를 반납한다.
+ */
+@Component
+public class LlmAdmissionAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Counter admitted;
+    private final Counter rejected;
+
+    public LlmAdmissionAdvisor(@Value("${resumepro.ratelimit.global.max-concurrent:16}") int maxConcurrent,
+                               @Value("${resumepro.ratelimit.global.acquire-timeout:2s}") Duration acquireTimeout,
+                               MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.acquireTimeout = acquireTimeout;
+        this.admitted = Counter.builder("resumepro.ratelimit.requests")
+                .tag("scope", "global").tag("outcome", "admitted").register(meterRegistry);
+        this.rejected = Counter.builder("resumepro.ratelimit.requests")
+                .tag("scope", "global").tag("outcome", "rejected").register(meterRegistry);
+        Gauge.builder("resumepro.llm.in.flight", permits, p -> maxConcurrent - p.availablePermits())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        acquire();
+        try {
+            return chain.nextCall(request);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        return Flux.defer(() -> {
+            acquire();
+            return chain.nextStream(request).doFinally(signal -> permits.release());
+        });
+    }
+
+    private void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new RateLimitExceededException("AI 요청이 많습니다. 잠시 후 다시 시도해주세요.", acquireTimeout);
+        }
+        admitted.increment();
+    }
+
+    @Override
+    public String getName() {
+        return "llmAdmission";
+    }
+
+    // 다른 어드바이저보다 먼저 실행되어, 거절될 요청은 아무 작업도 하지 않게 한다.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * ChatClient 호출 앞단의 중복 제거 계층. 더블클릭/재시도로 같은 프롬프트가 동시에 들어오면
+ * 업스트림(Gemini) 호출은 한 번만 하고 결과를 공유한다.
+ */
+@Component
+public class LlmCallCoalescer {
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+    private final Set<String> streamsInFlight = ConcurrentHashMap.newKeySet();
+    private final Duration timeout;
+    private final Counter requests;
+    private final Counter executions;
+
+    public LlmCallCoalescer(@Value("${resumepro.ai.coalesce.timeout:120s}") Duration timeout,
+                            MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        // requests - executions = 합쳐져서 절약된 호출 수
+        this.requests = Counter.builder("resumepro.llm.coalesce.requests").register(meterRegistry);
+        this.executions = Counter.builder("resumepro.llm.coalesce.executions").register(meterRegistry);
+    }
+
+    // fingerprint: 프롬프트 전체를 대표하는 키 (예: ResumeFingerprint 해시). 같은 키는 같은 결과 타입으로만 호출한다.
+    @SuppressWarnings("unchecked")
+    public <T> T call(String fingerprint, Supplier<T> call) {
+        requests.increment();
+        return (T) singleFlight.execute(fingerprint, timeout, () -> {
+            executions.increment();
+            return call.get();
+        });
+    }
+
+    /**
+     * 스트리밍 호출용. 스트리밍 답변은 토픽으로 모든 구독자에게 전달되므로, 같은 키의 스트림이
+     * 이미 진행 중이면 false를 돌려주고 호출자는 새 스트림을 열지 않으면 된다.
+     * true를 받았다면 스트림 종료 시 반드시 {@link #finishStream(String)}를 호출해야 한다.
+     */
+    public boolean tryStartStream(String fingerprint) {
+        requests.increment();
+        boolean started = streamsInFlight.add(fingerprint);
+        if (started) {
+            executions.increment();
+        }
+        return started;
+    }
+
+    public void finishStream(String fingerprint) {
+        streamsInFlight.remove(fingerprint);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.resumepro.ai;
+
+import com.google.genai.errors.ApiException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * LLM 호출 예외 분류. 429(쿼터/스로틀링), 5xx, 네트워크 I/O, 타임아웃, 전역 동시 호출 상한에 따른 거절,
+ * 회로 차단기에 의한 거절은 다시 시도할 만한 오류로 본다.
+ */
+public final class LlmErrors {
+
+    private LlmErrors() {
+    }
+
+    public static boolean isRetryable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ApiException api) {
+                return api.code() == 429 || api.code() >= 500;
+            }
+            if (t instanceof IOException || t instanceof TimeoutException || t instanceof RateLimitExceededException
+                    || t instanceof LlmUnavailableException) {
+                return true;
+            }
+            if (t.getCause() == t) break;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.resumepro.ai;
+
+import java.time.Duration;
+
+/**
+ * LLM을 지금 쓸 수 없음 (응답 시간 초과 또는 회로 차단기 열림). HTTP 503 + Retry-After로 변환된다.
+ */
+public class LlmUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LlmUnavailableException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    // Retry-After 헤더 값 (초 단위 올림, 최소 1초)
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
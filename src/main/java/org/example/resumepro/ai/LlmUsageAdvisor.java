@@ -0,0 +1,95 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 호출마다 프롬프트 크기(bytes)와 응답 메타데이터의 토큰 사용량(prompt/completion)을 기록한다.
+ * 스트리밍은 사용량이 마지막 조각에 실려 오므로 마지막으로 받은 값을 완료 시점에 기록한다.
+ */
+@Component
+public class LlmUsageAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private final DistributionSummary callPromptBytes;
+    private final DistributionSummary streamPromptBytes;
+    private final DistributionSummary promptTokens;
+    private final DistributionSummary completionTokens;
+
+    public LlmUsageAdvisor(MeterRegistry meterRegistry) {
+        this.callPromptBytes = DistributionSummary.builder("resumepro.llm.prompt.size")
+                .baseUnit("bytes").tag("mode", "call").register(meterRegistry);
+        this.streamPromptBytes = DistributionSummary.builder("resumepro.llm.prompt.size")
+                .baseUnit("bytes").tag("mode", "stream").register(meterRegistry);
+        this.promptTokens = DistributionSummary.builder("resumepro.llm.tokens")
+                .baseUnit("tokens").tag("type", "prompt").register(meterRegistry);
+        this.completionTokens = DistributionSummary.builder("resumepro.llm.tokens")
+                .baseUnit("tokens").tag("type", "completion").register(meterRegistry);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        callPromptBytes.record(promptBytes(request));
+        ChatClientResponse response = chain.nextCall(request);
+        recordUsage(response.chatResponse());
+        return response;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        streamPromptBytes.record(promptBytes(request));
+        AtomicReference<ChatResponse> last = new AtomicReference<>();
+        return chain.nextStream(request)
+                .doOnNext(response -> {
+                    ChatResponse chatResponse = response.chatResponse();
+                    if (chatResponse != null && chatResponse.getMetadata().getUsage() != null) {
+                        last.set(chatResponse);
+                    }
+                })
+                .doOnComplete(() -> recordUsage(last.get()));
+    }
+
+    private static long promptBytes(ChatClientRequest request) {
+        long bytes = 0;
+        for (Message message : request.prompt().getInstructions()) {
+            String text = message.getText();
+            if (text != null) {
+                bytes += text.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return bytes;
+    }
+
+    private void recordUsage(ChatResponse response) {
+        if (response == null || response.getMetadata() == null) return;
+        Usage usage = response.getMetadata().getUsage();
+        if (usage == null) return;
+        if (usage.getPromptTokens() != null) promptTokens.record(usage.getPromptTokens());
+        if (usage.getCompletionTokens() != null) completionTokens.record(usage.getCompletionTokens());
+    }
+
+    @Override
+    public String getName() {
+        return "llmUsage";
+    }
+
+    // 전역 동시 호출 상한(LlmAdmissionAdvisor) 다음, 거절되지 않은 호출만 기록한다.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
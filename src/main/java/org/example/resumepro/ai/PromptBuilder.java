@@ -0,0 +1,291 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 모델에 보내는 이력서/상담 맥락 텍스트를 정리하고 토큰 예산 안으로 줄인다.
+ * <ol>
+ *     <li>정리(normalize): 유니코드 조합(NFC), 보이지 않는 문자, 쪽 번호 줄, 매 쪽 반복되는 머리글/바닥글,
+ *     연속 공백과 빈 줄을 없앤다. 내용은 바뀌지 않으므로 추출 직후 저장 전에도 쓴다.</li>
+ *     <li>예산(fit): TokenEstimator 기준으로 넘치면 길게 반복된 줄을 먼저 빼고, 앞 문단부터 온전히 싣다가
+ *     넘치는 지점부터는 문단 첫 줄(제목)만 남긴 뒤 생략 표시를 붙인다.</li>
+ * </ol>
+ * 요청마다 줄어든 토큰 수를 resumepro.prompt.tokens.saved(purpose별)로 남긴다.
+ */
+@Component
+public class PromptBuilder {
+
+    static final String OMITTED = "(분량 제한으로 이후 내용은 문단 제목만 남기거나 생략했습니다)";
+
+    // 페이지 구분 문자 (DocumentTextExtractor가 PDF 쪽 사이에 넣는다)
+    private static final char PAGE_BREAK = '\f';
+    private static final Pattern PAGE_BREAK_PATTERN = Pattern.compile("\f");
+    private static final Pattern LINE_BREAK = Pattern.compile("\\r\\n?");
+    private static final Pattern INVISIBLE = Pattern.compile("[\\u00AD\\u200B-\\u200D\\u2060\\uFEFF]");
+    // "3", "- 3 -", "3 / 5", "Page 3 of 5", "p. 3", "3쪽", "3 페이지"만 있는 줄
+    private static final Pattern PAGE_NUMBER_LINE = Pattern.compile(
+            "^[ \\t]*(?:-[ \\t]*\\d{1,3}[ \\t]*-|\\d{1,3}(?:[ \\t]*/[ \\t]*\\d{1,3})?"
+                    + "|(?:page|p\\.)[ \\t]*\\d{1,3}(?:[ \\t]*(?:/|of)[ \\t]*\\d{1,3})?|\\d{1,3}[ \\t]*(?:쪽|페이지))[ \\t]*$",
+            Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[ \\t\\x0B\\r\\u00A0\\u3000]+");
+    private static final Pattern LINE_EDGE_SPACE = Pattern.compile(" ?\\n ?");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n{3,}");
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\n");
+
+    // 머리글/바닥글로 볼 수 있는 최대 길이, 중복 제거 대상이 되는 최소 줄 길이
+    private static final int MAX_RUNNING_LINE = 100;
+    private static final int MIN_DUPLICATE_LINE = 20;
+
+    private final int analysisMaxTokens;
+    private final int chatMaxTokens;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param resume   상담 맥락에 싣는 이력서 원문
+     * @param analysis 상담 맥락에 싣는 기존 분석 결과
+     */
+    public record ChatContext(String resume, String analysis) {
+    }
+
+    public PromptBuilder(@Value("${resumepro.prompt.analysis.max-tokens:8000}") int analysisMaxTokens,
+                         @Value("${resumepro.prompt.chat.max-tokens:8000}") int chatMaxTokens,
+                         MeterRegistry meterRegistry) {
+        this.analysisMaxTokens = analysisMaxTokens;
+        this.chatMaxTokens = chatMaxTokens;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 업로드 문서에서 추출한 텍스트 (저장/분석 전에 한 번 정리한다).
+     */
+    public String documentText(String extracted) {
+        if (extracted == null) return null;
+        String normalized = normalize(extracted);
+        record("document", extracted, normalized, false);
+        return normalized;
+    }
+
+    /**
+     * 분석 요청의 사용자 메시지 (이력서 본문).
+     */
+    public String analysisPrompt(String userResume) {
+        String normalized = normalize(userResume);
+        String fitted = fit(normalized, analysisMaxTokens);
+        record("analysis", userResume, fitted, fitted.length() < normalized.length());
+        return fitted;
+    }
+
+    /**
+     * 상담 세션의 맥락. 대화 대상인 분석 결과를 먼저 싣고(최대 예산의 절반), 이력서가 남은 예산을 쓴다.
+     */
+    public ChatContext chatContext(String resume, String analysis) {
+        String normalizedAnalysis = normalize(analysis);
+        String fittedAnalysis = fit(normalizedAnalysis, chatMaxTokens / 2);
+        String normalizedResume = normalize(resume);
+        String fittedResume = fit(normalizedResume, chatMaxTokens - TokenEstimator.estimate(fittedAnalysis));
+
+        int before = TokenEstimator.estimate(resume) + TokenEstimator.estimate(analysis);
+        int after = TokenEstimator.estimate(fittedResume) + TokenEstimator.estimate(fittedAnalysis);
+        recordSaved("chat", before - after,
+                fittedResume.length() < normalizedResume.length() || fittedAnalysis.length() < normalizedAnalysis.length());
+        return new ChatContext(fittedResume, fittedAnalysis);
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String cleaned = INVISIBLE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC)).replaceAll("");
+        cleaned = LINE_BREAK.matcher(cleaned).replaceAll("\n");
+        if (cleaned.indexOf(PAGE_BREAK) >= 0) {
+            cleaned = withoutRunningLines(PAGE_BREAK_PATTERN.split(cleaned));
+        } else {
+            cleaned = PAGE_NUMBER_LINE.matcher(cleaned).replaceAll("");
+        }
+        cleaned = HORIZONTAL_WHITESPACE.matcher(cleaned).replaceAll(" ");
+        cleaned = LINE_EDGE_SPACE.matcher(cleaned).replaceAll("\n");
+        return BLANK_LINES.matcher(cleaned).replaceAll("\n\n").strip();
+    }
+
+    /**
+     * 추정 토큰 수가 maxTokens 이하가 되도록 줄인다. 이미 들어가면 그대로 돌려준다.
+     */
+    public static String fit(String text, int maxTokens) {
+        if (TokenEstimator.estimate(text) <= maxTokens) return text;
+
+        int budget = Math.max(0, maxTokens - TokenEstimator.estimate(OMITTED));
+        String[] paragraphs = PARAGRAPH_BREAK.split(withoutDuplicateLines(text));
+        // 뒤쪽 문단들의 제목 자리를 미리 남겨 둔다 (titlesAfter[i] = i 다음 문단들의 첫 줄 토큰 합).
+        int[] titlesAfter = new int[paragraphs.length];
+        for (int i = paragraphs.length - 2; i >= 0; i--) {
+            titlesAfter[i] = titlesAfter[i + 1] + TokenEstimator.estimate(firstLine(paragraphs[i + 1]));
+        }
+
+        StringBuilder out = new StringBuilder();
+        int used = 0;
+        boolean whole = true;
+        for (int i = 0; i < paragraphs.length; i++) {
+            String paragraph = paragraphs[i];
+            int tokens = TokenEstimator.estimate(paragraph);
+            if (whole && used + tokens + titlesAfter[i] <= budget) {
+                used += append(out, paragraph, tokens);
+                continue;
+            }
+            String kept;
+            if (whole) {
+                // 처음 넘치는 문단은 남은 예산만큼 앞쪽 줄을 싣고, 이후 문단은 첫 줄만 싣는다.
+                whole = false;
+                kept = leadingLines(paragraph, budget - used - titlesAfter[i]);
+            } else {
+                kept = "";
+            }
+            if (kept.isEmpty()) {
+                kept = firstLine(paragraph);
+            }
+            int keptTokens = TokenEstimator.estimate(kept);
+            if (used + keptTokens <= budget) {
+                used += append(out, kept, keptTokens);
+            } else if (out.isEmpty()) {
+                // 첫 줄부터 예산을 넘는 한 덩어리 텍스트는 글자 단위로 자른다.
+                out.append(prefixWithin(kept, budget));
+                used = budget;
+            }
+        }
+        if (!out.isEmpty()) {
+            out.append("\n\n");
+        }
+        return out.append(OMITTED).toString();
+    }
+
+    // 여러 쪽에서 첫 줄/마지막 줄에 (숫자만 다르게) 반복되는 줄은 머리글/바닥글로 보고 처음 나온 것만 남긴다.
+    private static String withoutRunningLines(String[] pages) {
+        List<String[]> lines = new ArrayList<>(pages.length);
+        Map<String, Integer> headers = new HashMap<>();
+        Map<String, Integer> footers = new HashMap<>();
+        long nonEmpty = 0;
+        for (String page : pages) {
+            String[] pageLines = PAGE_NUMBER_LINE.matcher(page).replaceAll("").split("\n");
+            lines.add(pageLines);
+            int first = firstNonBlank(pageLines);
+            if (first < 0) continue;
+            nonEmpty++;
+            headers.merge(runningKey(pageLines[first]), 1, Integer::sum);
+            footers.merge(runningKey(pageLines[lastNonBlank(pageLines)]), 1, Integer::sum);
+        }
+
+        Set<String> seen = new HashSet<>();
+        StringBuilder out = new StringBuilder();
+        for (String[] pageLines : lines) {
+            int first = firstNonBlank(pageLines);
+            int last = lastNonBlank(pageLines);
+            for (int i = 0; i < pageLines.length; i++) {
+                String line = pageLines[i];
+                boolean running = (i == first && isRunning(headers, line, nonEmpty))
+                        || (i == last && isRunning(footers, line, nonEmpty));
+                if (running && !seen.add(runningKey(line))) continue;
+                out.append(line).append('\n');
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static int firstNonBlank(String[] lines) {
+        for (int i = 0; i < lines.length; i++) {
+            if (!lines[i].isBlank()) return i;
+        }
+        return -1;
+    }
+
+    private static int lastNonBlank(String[] lines) {
+        for (int i = lines.length - 1; i >= 0; i--) {
+            if (!lines[i].isBlank()) return i;
+        }
+        return -1;
+    }
+
+    private static boolean isRunning(Map<String, Integer> counts, String line, long pages) {
+        int count = counts.getOrDefault(runningKey(line), 0);
+        return line.length() <= MAX_RUNNING_LINE && count >= 2 && count * 2 >= pages;
+    }
+
+    private static String runningKey(String line) {
+        return DIGITS.matcher(HORIZONTAL_WHITESPACE.matcher(line.strip()).replaceAll(" ")).replaceAll("#");
+    }
+
+    // 다단 편집 문서 추출 등으로 같은 문장이 여러 번 나오면 처음 것만 남긴다 (짧은 줄은 목록 항목일 수 있어 둔다).
+    private static String withoutDuplicateLines(String text) {
+        Set<String> seen = new HashSet<>();
+        StringBuilder out = new StringBuilder(text.length());
+        for (String line : text.split("\n", -1)) {
+            if (line.length() >= MIN_DUPLICATE_LINE && !seen.add(line)) continue;
+            out.append(line).append('\n');
+        }
+        return BLANK_LINES.matcher(out).replaceAll("\n\n").strip();
+    }
+
+    // 예산 안에 들어가는 앞쪽 줄들 (첫 줄도 넘치면 빈 문자열)
+    private static String leadingLines(String paragraph, int budget) {
+        StringBuilder head = new StringBuilder();
+        int used = 0;
+        for (String line : paragraph.split("\n")) {
+            int tokens = TokenEstimator.estimate(line);
+            if (used + tokens > budget) {
+                break;
+            }
+            if (!head.isEmpty()) head.append('\n');
+            head.append(line);
+            used += tokens;
+        }
+        return head.toString();
+    }
+
+    // 추정 토큰 수가 budget 이하인 가장 긴 앞부분 (이진 탐색)
+    private static String prefixWithin(String line, int budget) {
+        int low = 0;
+        int high = line.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (TokenEstimator.estimate(line.subSequence(0, mid)) <= budget) low = mid;
+            else high = mid - 1;
+        }
+        return line.substring(0, low);
+    }
+
+    private static String firstLine(String paragraph) {
+        int end = paragraph.indexOf('\n');
+        return end < 0 ? paragraph : paragraph.substring(0, end);
+    }
+
+    private static int append(StringBuilder out, String paragraph, int tokens) {
+        if (!out.isEmpty()) out.append("\n\n");
+        out.append(paragraph);
+        return tokens;
+    }
+
+    private void record(String purpose, String original, String sent, boolean truncated) {
+        recordSaved(purpose, TokenEstimator.estimate(original) - TokenEstimator.estimate(sent), truncated);
+    }
+
+    private void recordSaved(String purpose, int savedTokens, boolean truncated) {
+        DistributionSummary.builder("resumepro.prompt.tokens.saved")
+                .tag("purpose", purpose)
+                .register(meterRegistry)
+                .record(Math.max(0, savedTokens));
+        if (truncated) {
+            Counter.builder("resumepro.prompt.truncated").tag("purpose", purpose).register(meterRegistry).increment();
+        }
+    }
+}
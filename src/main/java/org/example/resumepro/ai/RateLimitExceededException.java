@@ -0,0 +1,25 @@
+package org.example.resumepro.ai;
+
+import java.time.Duration;
+
+/**
+ * 요청 한도 초과. retryAfter 뒤에 다시 시도하면 통과할 수 있다 (HTTP 429 + Retry-After로 변환된다).
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    // Retry-After 헤더 값 (초 단위 올림, 최소 1초)
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
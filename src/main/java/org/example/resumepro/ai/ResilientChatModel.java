@@ -0,0 +1,224 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * ChatModel 장애 대응 래퍼.
+ * <ul>
+ *     <li>호출 시간 상한: call은 call-timeout, stream은 첫 조각까지 first-chunk-timeout, 이후 조각 간격 idle-timeout</li>
+ *     <li>회로 차단기: 실패율이 높아지면 업스트림을 호출하지 않고 바로 LlmUnavailableException.
+ *     업스트림 장애(시간 초과, 5xx, 429, 네트워크 오류, LlmErrors.isRetryable)만 실패로 센다. 4xx 같은 요청 오류는
+ *     결과로 치지 않고 시험 호출 자리만 반납한다.</li>
+ *     <li>헤지 요청(call만): 최근 지연의 hedge-percentile을 넘도록 응답이 없으면 보조 모델로 같은 요청을 한 번 더 보내고
+ *     먼저 성공한 응답을 쓴다. 스트림은 답변이 중복 전송되므로 헤지하지 않는다.</li>
+ * </ul>
+ */
+public class ResilientChatModel implements ChatModel {
+
+    private static final int LATENCY_SAMPLES = 256;
+    private static final int MIN_SAMPLES_FOR_HEDGE = 20;
+
+    private final ChatModel delegate;
+    private final Settings settings;
+    // 보조 모델용 프롬프트로 바꾸는 함수 (null이면 헤지하지 않는다)
+    private final UnaryOperator<Prompt> secondaryPrompt;
+    private final CircuitBreaker circuitBreaker;
+    // 호출 스레드의 observation/트레이스 컨텍스트를 실제 호출 스레드로 넘긴다 (LLM span이 요청 span 아래에 붙도록).
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(), ContextSnapshotFactory.builder().build()::captureAll);
+
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyPosition;
+    private int latencyCount;
+
+    private final Counter timeouts;
+    private final Counter shortCircuited;
+    private final Counter hedged;
+    private final Counter hedgeWins;
+
+    /**
+     * @param hedgePercentile 0이면 헤지하지 않는다 (예: 0.95)
+     */
+    public record Settings(Duration callTimeout, Duration firstChunkTimeout, Duration idleTimeout,
+                           int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                           double hedgePercentile, Duration minHedgeDelay) {
+    }
+
+    public ResilientChatModel(ChatModel delegate, Settings settings, UnaryOperator<Prompt> secondaryPrompt,
+                              MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.settings = settings;
+        this.secondaryPrompt = settings.hedgePercentile() > 0 ? secondaryPrompt : null;
+        this.circuitBreaker = new CircuitBreaker("llm", settings.windowSize(), settings.minimumCalls(),
+                settings.failureRateThreshold(), settings.openDuration());
+
+        this.timeouts = Counter.builder("resumepro.llm.timeouts").register(meterRegistry);
+        this.shortCircuited = Counter.builder("resumepro.llm.circuit.rejected").register(meterRegistry);
+        this.hedged = Counter.builder("resumepro.llm.hedge.requests").register(meterRegistry);
+        this.hedgeWins = Counter.builder("resumepro.llm.hedge.wins").register(meterRegistry);
+        // 0=CLOSED, 1=OPEN, 2=HALF_OPEN
+        Gauge.builder("resumepro.llm.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        acquire();
+        long start = System.nanoTime();
+        CompletableFuture<ChatResponse> winner = new CompletableFuture<>();
+        AtomicInteger launched = new AtomicInteger(1);
+        AtomicInteger failed = new AtomicInteger();
+        Future<?> primary = null;
+        Future<?> secondary = null;
+
+        try {
+            primary = executor.submit(() -> attempt(prompt, winner, launched, failed, false));
+            long hedgeDelay = hedgeDelayNanos();
+            if (hedgeDelay > 0) {
+                try {
+                    return succeeded(winner.get(hedgeDelay, TimeUnit.NANOSECONDS), start);
+                } catch (TimeoutException slow) {
+                    if (!winner.isDone()) {
+                        Prompt hedgedPrompt = secondaryPrompt.apply(prompt);
+                        hedged.increment();
+                        launched.incrementAndGet();
+                        secondary = executor.submit(() -> attempt(hedgedPrompt, winner, launched, failed, true));
+                    }
+                }
+            }
+            long remaining = settings.callTimeout().toNanos() - (System.nanoTime() - start);
+            return succeeded(winner.get(Math.max(0, remaining), TimeUnit.NANOSECONDS), start);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            circuitBreaker.onFailure();
+            throw new LlmUnavailableException("AI 응답 시간이 초과되었습니다.", settings.callTimeout(), e);
+        } catch (ExecutionException e) {
+            onError(e.getCause());
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.onCancel();
+            throw new IllegalStateException("AI 호출이 중단되었습니다.", e);
+        } catch (RuntimeException e) {
+            // 업스트림 결과가 아닌 실패(보조 프롬프트 변환, 실행기 거절 등): 시험 호출 자리만 반납한다.
+            circuitBreaker.onCancel();
+            throw e;
+        } finally {
+            // 진 쪽(또는 시간 초과된) 요청은 중단시킨다.
+            if (primary != null) primary.cancel(true);
+            if (secondary != null) secondary.cancel(true);
+        }
+    }
+
+    private void attempt(Prompt prompt, CompletableFuture<ChatResponse> winner,
+                         AtomicInteger launched, AtomicInteger failed, boolean hedge) {
+        try {
+            ChatResponse response = delegate.call(prompt);
+            if (winner.complete(response) && hedge) {
+                hedgeWins.increment();
+            }
+        } catch (Throwable t) {
+            // 시작된 요청이 모두 실패했을 때만 실패로 끝낸다.
+            if (failed.incrementAndGet() >= launched.get()) {
+                winner.completeExceptionally(t);
+            }
+        }
+    }
+
+    private ChatResponse succeeded(ChatResponse response, long start) {
+        circuitBreaker.onSuccess();
+        recordLatency(System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            acquire();
+            Flux<ChatResponse> upstream;
+            try {
+                upstream = delegate.stream(prompt);
+            } catch (RuntimeException e) {
+                // 구독 전에 던지면 아래 doOnError/doOnCancel이 불리지 않는다.
+                onError(e);
+                throw e;
+            }
+            return upstream
+                    .timeout(Mono.delay(settings.firstChunkTimeout()), chunk -> Mono.delay(settings.idleTimeout()))
+                    .onErrorMap(TimeoutException.class, e -> {
+                        timeouts.increment();
+                        return new LlmUnavailableException("AI 응답 시간이 초과되었습니다.", settings.firstChunkTimeout(), e);
+                    })
+                    .doOnComplete(circuitBreaker::onSuccess)
+                    .doOnError(this::onError)
+                    .doOnCancel(circuitBreaker::onCancel);
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private void acquire() {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.increment();
+            throw new LlmUnavailableException("AI 서비스가 일시적으로 불안정합니다. 잠시 후 다시 시도해주세요.",
+                    circuitBreaker.remainingOpenTime(), null);
+        }
+    }
+
+    // 업스트림 장애만 실패로 센다. 요청 자체의 오류(4xx 등)는 업스트림 상태와 무관하므로 자리만 반납한다.
+    private void onError(Throwable error) {
+        if (LlmErrors.isRetryable(error)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onCancel();
+        }
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[latencyPosition] = nanos;
+        latencyPosition = (latencyPosition + 1) % LATENCY_SAMPLES;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_SAMPLES);
+    }
+
+    // 헤지까지 기다릴 시간. 보조 모델이 없거나 표본이 부족하면 0 (헤지하지 않음)
+    private long hedgeDelayNanos() {
+        if (secondaryPrompt == null) {
+            return 0;
+        }
+        long[] samples;
+        synchronized (this) {
+            if (latencyCount < MIN_SAMPLES_FOR_HEDGE) {
+                return 0;
+            }
+            samples = Arrays.copyOf(latencies, latencyCount);
+        }
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(settings.hedgePercentile() * samples.length) - 1;
+        long percentile = samples[Math.max(0, Math.min(samples.length - 1, index))];
+        return Math.max(percentile, settings.minHedgeDelay().toNanos());
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.resumepro.ai;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * 이력서 본문 + 시스템 지침 버전으로 만드는 내용 기반 해시(SHA-256, hex 64자).
+ * 공백/줄바꿈 차이나 유니코드 조합 방식(NFC/NFD) 차이는 같은 이력서로 본다.
+ */
+public final class ResumeFingerprint {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ResumeFingerprint() {
+    }
+
+    public static String of(String resumeText, String promptVersion) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(resumeText, Normalizer.Form.NFC))
+                .replaceAll(" ")
+                .trim();
+        return sha256(promptVersion + "\n" + normalized);
+    }
+
+    public static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.util.MarkdownCleaner;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 이력서 리뷰를 카테고리별 작은 호출 5개로 나눠 동시에 요청하고, 정해진 순서로 합쳐서 한 번의 리뷰와 같은 형식으로 돌려준다.
+ * 한 번에 다섯 카테고리를 차례로 생성하는 것보다 전체 지연이 가장 느린 카테고리 하나 정도로 줄어든다.
+ * 일부 카테고리가 실패하거나 시간 안에 끝나지 않으면 그 카테고리만 안내 문구로 채운다 (전부 실패하면 첫 오류를 던진다).
+ * 동시 호출은 ChatClient의 전역 동시 호출 상한(LlmAdmissionAdvisor)을 카테고리마다 하나씩 쓴다.
+ */
+@Slf4j
+@Component
+public class SectionedReview {
+
+    static final List<Section> SECTIONS = List.of(
+            new Section("strengths", "강점", "지원자가 이미 잘 드러내고 있는 역량과 경험"),
+            new Section("weaknesses", "약점", "서류 심사에서 불리하게 보일 수 있는 부분"),
+            new Section("improvements", "개선 방향", "문장, 구성, 수치 표현 등 바로 고칠 수 있는 방법"),
+            new Section("supplements", "보완점", "추가하면 좋은 경험, 자격, 프로젝트 내용"),
+            new Section("interview", "면접 전략", "예상 질문과 답변 준비 방향"));
+
+    static final String DEGRADED = "이 항목은 지금 생성하지 못했습니다. 다시 분석하면 채워집니다.";
+
+    private static final String SECTION_INSTRUCTION = """
+            너는 10년차 베테랑 인사담당자야. 다음 규칙에 따라 이력서의 [%s] 항목만 정밀하게 검토해줘.
+
+            [반드시 지켜야 할 규칙]
+            1. 모든 답변은 한국어로 작성할 것.
+            2. ###, **, *, - 와 같은 마크다운 기호를 절대 사용하지 말 것.
+            3. 제목 없이 내용만 작성하고, 줄바꿈과 숫자(1., 2.) 또는 특수문자(•)만 사용하여 가독성을 높일 것.
+            4. 다른 항목은 쓰지 말고 %s에 집중할 것.
+            """;
+
+    record Section(String key, String title, String focus) {
+    }
+
+    /**
+     * @param complete 모든 카테고리가 생성되었으면 true (일부만 채워진 결과는 캐시하지 않는다)
+     */
+    public record Result(String text, boolean complete) {
+    }
+
+    private final ChatClient chatClient;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+    // 요청 span 아래에 카테고리별 LLM span이 붙도록 컨텍스트를 넘긴다.
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(), ContextSnapshotFactory.builder().build()::captureAll);
+
+    public SectionedReview(ChatClient chatClient,
+                           @Value("${resumepro.ai.fanout.enabled:false}") boolean enabled,
+                           @Value("${resumepro.ai.fanout.timeout:60s}") Duration timeout,
+                           MeterRegistry meterRegistry) {
+        this.chatClient = chatClient;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Result review(String userResume) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Future<String>> futures = new ArrayList<>(SECTIONS.size());
+        for (Section section : SECTIONS) {
+            futures.add(executor.submit(() -> generate(section, userResume)));
+        }
+
+        StringBuilder merged = new StringBuilder();
+        RuntimeException firstFailure = null;
+        int failed = 0;
+        for (int i = 0; i < SECTIONS.size(); i++) {
+            Section section = SECTIONS.get(i);
+            Future<String> future = futures.get(i);
+            String body;
+            try {
+                body = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                body = null;
+                if (firstFailure == null) {
+                    firstFailure = new LlmUnavailableException("AI 응답 시간이 초과되었습니다.", timeout, e);
+                }
+            } catch (ExecutionException e) {
+                body = null;
+                if (firstFailure == null) {
+                    firstFailure = e.getCause() instanceof RuntimeException runtime
+                            ? runtime : new IllegalStateException(e.getCause());
+                }
+                log.warn("리뷰 항목 생성 실패: section={}", section.key(), e.getCause());
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("분석이 중단되었습니다.", e);
+            }
+
+            if (body == null) {
+                failed++;
+                body = DEGRADED;
+            }
+            if (!merged.isEmpty()) {
+                merged.append("\n\n");
+            }
+            merged.append('[').append(section.title()).append("]\n").append(body);
+        }
+
+        if (failed == SECTIONS.size()) {
+            throw firstFailure;
+        }
+        return new Result(merged.toString(), failed == 0);
+    }
+
+    private String generate(Section section, String userResume) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            String content = chatClient.prompt()
+                    .system(SECTION_INSTRUCTION.formatted(section.title(), section.focus()))
+                    .user(userResume)
+                    .call()
+                    .content();
+            outcome = "success";
+            return withoutTitle(content == null ? "" : content, section);
+        } finally {
+            // 카테고리별 소요 시간 (전체 지연은 가장 느린 카테고리에 맞춰진다)
+            Timer.builder("resumepro.analysis.section")
+                    .tag("section", section.key())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    // 지시와 달리 모델이 "[강점]" 같은 제목을 먼저 쓰면 합칠 때 중복되지 않도록 떼어낸다.
+    private static String withoutTitle(String content, Section section) {
+        String text = content.strip();
+        String title = "[" + section.title() + "]";
+        if (MarkdownCleaner.stripSymbols(text).startsWith(title)) {
+            int lineEnd = text.indexOf('\n');
+            return lineEnd < 0 ? "" : text.substring(lineEnd + 1).strip();
+        }
+        return text;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
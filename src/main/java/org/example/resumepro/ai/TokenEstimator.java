@@ -0,0 +1,24 @@
+package org.example.resumepro.ai;
+
+/**
+ * 로컬 토큰 수 근사치. 실제 Gemini 토크나이저를 부르지 않고
+ * ASCII는 4자당 1토큰, 한글 등 비ASCII 문자는 1.5자당 1토큰으로 계산한다.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) return 0;
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (c < 0x80) ascii++;
+            else other++;
+        }
+        return (int) Math.ceil(ascii / 4.0 + other / 1.5);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.resumepro.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자(이메일)별 토큰 버킷. 버킷마다 "다음 토큰이 완전히 채워지는 시각" 하나만 AtomicLong으로 두고
+ * CAS로 갱신하므로(GCRA) 락 없이 동작한다. capacity만큼 연속 요청을 허용하고, 이후에는
+ * refill-interval마다 한 건씩 허용한다. 한동안 요청이 없는 사용자의 버킷은 캐시에서 만료된다.
+ * 빈으로 등록된 인스턴스는 대화형 요청용(scope=user)이고, 일괄 분석은 별도 한도(scope=batch)를 만들어 쓴다.
+ */
+@Component
+public class UserRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter admitted;
+    private final Counter rejected;
+
+    @Autowired
+    public UserRateLimiter(@Value("${resumepro.ratelimit.user.capacity:5}") int capacity,
+                           @Value("${resumepro.ratelimit.user.refill-interval:10s}") Duration refillInterval,
+                           MeterRegistry meterRegistry) {
+        this("user", capacity, refillInterval, meterRegistry);
+    }
+
+    public UserRateLimiter(String scope, int capacity, Duration refillInterval, MeterRegistry meterRegistry) {
+        this.intervalNanos = refillInterval.toNanos();
+        this.burstNanos = intervalNanos * capacity;
+        // 버킷이 가득 찰 만큼 지나면 상태가 필요 없으므로 그 시간 뒤에 만료시킨다.
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+        this.admitted = Counter.builder("resumepro.ratelimit.requests")
+                .tag("scope", scope).tag("outcome", "admitted").register(meterRegistry);
+        this.rejected = Counter.builder("resumepro.ratelimit.requests")
+                .tag("scope", scope).tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    /**
+     * 토큰 하나를 쓴다. 남은 토큰이 없으면 RateLimitExceededException.
+     */
+    public void acquire(String userKey) {
+        AtomicLong bucket = buckets.get(userKey, key -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long full = bucket.get();
+            // full이 과거면 버킷이 가득 찬 상태
+            long base = full == Long.MIN_VALUE || full - now < 0 ? now : full;
+            long next = base + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                throw new RateLimitExceededException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.",
+                        Duration.ofNanos(wait));
+            }
+            if (bucket.compareAndSet(full, next)) {
+                admitted.increment();
+                return;
+            }
+        }
+    }
+}
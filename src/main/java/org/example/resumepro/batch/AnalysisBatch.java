@@ -0,0 +1,207 @@
+package org.example.resumepro.batch;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 일괄 분석 한 건의 진행 상태. 항목은 읽은 순서대로 추가되고, 추출이 끝난 텍스트는 분석 대기열을 거쳐 LLM 단계로 간다.
+ * 추출 중이거나 대기열에 있는 항목은 queueCapacity개까지만 둔다. 자리가 없으면 읽기(reserve)가 기다리므로,
+ * 분석이 밀려도 읽어 둔 원본과 추출된 텍스트가 배치 크기만큼 쌓이지 않는다.
+ */
+public class AnalysisBatch {
+
+    public enum Status {
+        EXTRACTING, WAITING, ANALYZING, SUCCEEDED, FAILED
+    }
+
+    private static final Pending END = new Pending(null, null);
+
+    private final String id;
+    private final String ownerEmail;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<Item> items = new CopyOnWriteArrayList<>();
+    // 추출된 텍스트 → LLM 단계. 작은 고정 크기라 가득 차면 enqueue가 기다린다 (종료 표시 자리는 소비자 수만큼 더 둔다).
+    private final BlockingQueue<Pending> analysisQueue;
+    // 읽었지만 아직 분석 단계가 가져가지 않은(추출 중, 대기 중) 항목 자리
+    private final Semaphore room;
+    private final AtomicInteger finished = new AtomicInteger();
+    private volatile boolean inputClosed;
+    private volatile boolean truncated;
+    private volatile boolean cancelled;
+
+    AnalysisBatch(String id, String ownerEmail, int queueCapacity, int consumers) {
+        this.id = id;
+        this.ownerEmail = ownerEmail;
+        this.analysisQueue = new ArrayBlockingQueue<>(queueCapacity + consumers);
+        this.room = new Semaphore(queueCapacity);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getOwnerEmail() {
+        return ownerEmail;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public List<Item> getItems() {
+        return List.copyOf(items);
+    }
+
+    public int getTotal() {
+        return items.size();
+    }
+
+    public int getFinished() {
+        return finished.get();
+    }
+
+    // 압축 파일을 끝까지 읽었고 모든 항목이 성공/실패로 끝났으면 true
+    public boolean isDone() {
+        return inputClosed && finished.get() == items.size();
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    // 분석 단계가 항목을 가져가거나 항목이 실패할 때까지 기다렸다가 다음 항목 자리를 잡는다.
+    void reserve() throws InterruptedException {
+        room.acquire();
+    }
+
+    // reserve()로 잡은 자리에 항목을 추가한다.
+    Item addItem(String fileName) {
+        Item item = new Item(items.size(), fileName);
+        items.add(item);
+        return item;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    // 업로드를 끝까지 읽지 못한 배치: 끝나지 않은 항목을 모두 실패로 두고 대기열을 비운다 (분석하지 않는다).
+    void cancel(String errorMessage) {
+        cancelled = true;
+        List<Pending> drained = new ArrayList<>();
+        analysisQueue.drainTo(drained);
+        for (Pending pending : drained) {
+            if (pending == END) analysisQueue.add(END);
+        }
+        for (Item item : items) {
+            failed(item, errorMessage);
+        }
+    }
+
+    void markTruncated() {
+        truncated = true;
+    }
+
+    // 대기열이 가득 차 있으면 자리가 날 때까지 기다린다. 취소된 배치면 넣지 않는다.
+    void enqueue(Item item, String text) throws InterruptedException {
+        if (cancelled || item.done.get()) {
+            releaseRoom(item);
+            return;
+        }
+        item.status = Status.WAITING;
+        analysisQueue.put(new Pending(item, text));
+    }
+
+    // 모든 추출이 끝난 뒤 호출한다. 소비자마다 종료 표시를 하나씩 넣는다.
+    void closeInput(int consumers) {
+        inputClosed = true;
+        for (int i = 0; i < consumers; i++) {
+            try {
+                analysisQueue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 종료 표시를 받으면 null
+    Pending take() throws InterruptedException {
+        Pending next = analysisQueue.take();
+        if (next == END) return null;
+        releaseRoom(next.item());
+        return next;
+    }
+
+    void succeeded(Item item, Long historyId) {
+        if (!item.done.compareAndSet(false, true)) return;
+        item.historyId = historyId;
+        item.status = Status.SUCCEEDED;
+        finished.incrementAndGet();
+    }
+
+    // 이미 끝난 항목이면 무시한다 (취소와 분석 결과가 겹칠 수 있다).
+    void failed(Item item, String errorMessage) {
+        releaseRoom(item);
+        if (!item.done.compareAndSet(false, true)) return;
+        item.errorMessage = errorMessage;
+        item.status = Status.FAILED;
+        finished.incrementAndGet();
+    }
+
+    private void releaseRoom(Item item) {
+        if (item.holdsRoom.compareAndSet(true, false)) {
+            room.release();
+        }
+    }
+
+    record Pending(Item item, String text) {
+    }
+
+    public static class Item {
+
+        private final int index;
+        private final String fileName;
+        private volatile Status status = Status.EXTRACTING;
+        private volatile Long historyId;
+        private volatile String errorMessage;
+        private final AtomicBoolean holdsRoom = new AtomicBoolean(true);
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Item(int index, String fileName) {
+            this.index = index;
+            this.fileName = fileName;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public Long getHistoryId() {
+            return historyId;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        void analyzing() {
+            status = Status.ANALYZING;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package org.example.resumepro.batch;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.ai.LlmErrors;
+import org.example.resumepro.ai.RateLimitExceededException;
+import org.example.resumepro.ai.UserRateLimiter;
+import org.example.resumepro.dto.BatchItemProgress;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.pdf.DocumentExtractionException;
+import org.example.resumepro.service.AiService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 여러 이력서를 한 번에 분석하는 일괄 처리.
+ * <ol>
+ *     <li>읽기(요청 스레드): ZIP을 스트림으로 한 항목씩 읽는다. 디스크에 풀지 않고, 메모리에는 추출 중인 항목만 둔다.</li>
+ *     <li>추출(CPU): DocumentTextExtractor의 추출 풀. 동시에 넘기는 항목 수를 extraction-slots로 제한하므로
+ *     추출이 밀리면 읽기도 멈춘다(배압).</li>
+ *     <li>분석(I/O): 배치마다 llm-concurrency개의 소비자가 추출된 텍스트 대기열에서 꺼내 AI 분석 후 저장한다.
+ *     일시적 오류(한도 초과, 타임아웃 등)는 백오프 후 다시 시도한다.</li>
+ * </ol>
+ * 단계 사이 대기열은 배치마다 queue-capacity개로 작게 두어, 분석이 밀리면 읽기도 기다린다(배압).
+ * 항목마다 사용자별 일괄 분석 한도(resumepro.ratelimit.batch, 대화형 요청 한도와 별도)에서 토큰 하나를 쓰고,
+ * 모자라면 채워질 때까지 기다린다. 그래서 한도보다 큰 배치는 업로드 요청도 분석 속도에 맞춰 길어진다.
+ * 업로드를 끝까지 읽지 못하면(깨진 ZIP, 크기 초과, 연결 끊김) 배치를 취소한다.
+ * 그때까지 분석 단계가 시작하지 않은 항목은 실패로 두고 분석하지 않는다 (한도도 쓰지 않는다).
+ * 항목 상태가 바뀔 때마다 /topic/batches/{batchId}로 알리고, 전체 상태는 getBatch로 조회한다.
+ */
+@Slf4j
+@Service
+public class BatchAnalysisService {
+
+    private final AiService aiService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int maxItems;
+    private final long maxEntryBytes;
+    private final int llmConcurrency;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    // 읽어서 추출 중인 항목 수 (= 메모리에 올라와 있는 원본 수) 상한, 모든 배치가 공유한다.
+    private final Semaphore extractionSlots;
+    private final Cache<String, AnalysisBatch> batches;
+    private final UserRateLimiter itemQuota;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BatchAnalysisService(AiService aiService, SimpMessagingTemplate messagingTemplate,
+                                @Value("${resumepro.batch.max-items:200}") int maxItems,
+                                @Value("${resumepro.batch.max-entry-size:10MB}") DataSize maxEntrySize,
+                                @Value("${resumepro.batch.extraction-slots:0}") int extractionSlots,
+                                @Value("${resumepro.batch.llm-concurrency:4}") int llmConcurrency,
+                                @Value("${resumepro.batch.queue-capacity:8}") int queueCapacity,
+                                @Value("${resumepro.batch.max-attempts:3}") int maxAttempts,
+                                @Value("${resumepro.batch.base-backoff:2s}") Duration baseBackoff,
+                                @Value("${resumepro.batch.retention:1h}") Duration retention,
+                                @Value("${resumepro.ratelimit.batch.capacity:20}") int quotaCapacity,
+                                @Value("${resumepro.ratelimit.batch.refill-interval:6s}") Duration quotaRefillInterval,
+                                MeterRegistry meterRegistry) {
+        this.aiService = aiService;
+        this.messagingTemplate = messagingTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxItems = maxItems;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.llmConcurrency = llmConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        // 0이면 코어 수 (추출 풀 크기와 같게 두어 추출 풀 대기열이 넘치지 않도록 한다)
+        this.extractionSlots = new Semaphore(extractionSlots > 0 ? extractionSlots : Runtime.getRuntime().availableProcessors());
+        this.batches = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+        this.itemQuota = new UserRateLimiter("batch", quotaCapacity, quotaRefillInterval, meterRegistry);
+    }
+
+    /**
+     * ZIP 스트림의 항목을 모두 읽어 추출 단계로 넘긴 뒤 반환한다 (분석은 백그라운드에서 계속된다).
+     * 분석할 문서가 없으면 IllegalArgumentException.
+     */
+    public AnalysisBatch submitZip(InputStream zip, String userEmail) throws IOException {
+        AnalysisBatch batch = start(userEmail);
+        List<CompletableFuture<Void>> extractions = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(zip)) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                if (entry.isDirectory() || isHidden(entry.getName())) continue;
+                if (batch.getTotal() >= maxItems) {
+                    batch.markTruncated();
+                    break;
+                }
+
+                reserve(batch);
+                AnalysisBatch.Item item = batch.addItem(entry.getName());
+                // 항목 크기는 헤더를 믿지 않고 실제로 읽은 바이트로 제한한다 (압축 폭탄 방지).
+                byte[] content = in.readNBytes((int) Math.min(Integer.MAX_VALUE - 1, maxEntryBytes + 1));
+                if (content.length > maxEntryBytes) {
+                    fail(batch, item, "파일이 너무 큽니다.");
+                    continue;
+                }
+                acquireSlot();
+                extractions.add(extract(batch, item, new BatchEntryFile(fileName(entry.getName()), content)));
+            }
+        } catch (IOException | RuntimeException e) {
+            cancel(batch);
+            throw e;
+        } finally {
+            closeWhenExtracted(batch, extractions);
+        }
+        return requireItems(batch);
+    }
+
+    /**
+     * 여러 파일을 한 번에 올린 경우. 업로드 파일은 요청이 끝나면 지워지므로 추출까지 끝낸 뒤 반환한다.
+     */
+    public AnalysisBatch submitFiles(List<MultipartFile> files, String userEmail) {
+        AnalysisBatch batch = start(userEmail);
+        List<CompletableFuture<Void>> extractions = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                if (file.isEmpty()) continue;
+                if (batch.getTotal() >= maxItems) {
+                    batch.markTruncated();
+                    break;
+                }
+                reserve(batch);
+                AnalysisBatch.Item item = batch.addItem(file.getOriginalFilename());
+                acquireSlot();
+                extractions.add(extract(batch, item, file));
+            }
+        } catch (RuntimeException e) {
+            cancel(batch);
+            throw e;
+        } finally {
+            closeWhenExtracted(batch, extractions).join();
+        }
+        return requireItems(batch);
+    }
+
+    public AnalysisBatch getBatch(String batchId, String userEmail) {
+        AnalysisBatch batch = batches.getIfPresent(batchId);
+        if (batch == null || !batch.getOwnerEmail().equals(userEmail)) {
+            throw new IllegalArgumentException("일괄 분석을 찾을 수 없습니다.");
+        }
+        return batch;
+    }
+
+    private AnalysisBatch start(String userEmail) {
+        AnalysisBatch batch = new AnalysisBatch(UUID.randomUUID().toString(), userEmail, queueCapacity, llmConcurrency);
+        batches.put(batch.getId(), batch);
+        for (int i = 0; i < llmConcurrency; i++) {
+            executor.execute(() -> analyzeLoop(batch));
+        }
+        return batch;
+    }
+
+    // 마지막 추출이 끝나면 분석 대기열을 닫는다 (소비자가 남은 항목을 처리한 뒤 종료한다).
+    private CompletableFuture<Void> closeWhenExtracted(AnalysisBatch batch, List<CompletableFuture<Void>> extractions) {
+        return CompletableFuture.allOf(extractions.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> batch.closeInput(llmConcurrency));
+    }
+
+    // 호출자가 batchId를 받지 못했으므로 조회할 수도 없다. 남은 항목을 실패로 두고 목록에서 지운다.
+    private void cancel(AnalysisBatch batch) {
+        batch.cancel("업로드가 끝까지 완료되지 않아 분석하지 않았습니다.");
+        batches.invalidate(batch.getId());
+    }
+
+    private AnalysisBatch requireItems(AnalysisBatch batch) {
+        if (batch.getTotal() == 0) {
+            batches.invalidate(batch.getId());
+            throw new IllegalArgumentException("분석할 문서를 찾지 못했습니다.");
+        }
+        return batch;
+    }
+
+    private void reserve(AnalysisBatch batch) {
+        try {
+            batch.reserve();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("일괄 분석이 중단되었습니다.", e);
+        }
+    }
+
+    private void acquireSlot() {
+        try {
+            extractionSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("일괄 분석이 중단되었습니다.", e);
+        }
+    }
+
+    // 호출 전에 acquireSlot()으로 얻은 자리는 추출이 끝나면 돌려준다.
+    private CompletableFuture<Void> extract(AnalysisBatch batch, AnalysisBatch.Item item, MultipartFile file) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                if (batch.isCancelled()) return;
+                String text = aiService.extractTextFromPdf(file);
+                if (text == null || text.trim().isEmpty()) {
+                    fail(batch, item, "문서에서 내용을 읽을 수 없습니다.");
+                    return;
+                }
+                batch.enqueue(item, text);
+                publish(batch, item);
+            } catch (DocumentExtractionException e) {
+                fail(batch, item, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, item, "일괄 분석이 중단되었습니다.");
+            } catch (RuntimeException e) {
+                log.warn("일괄 분석 추출 실패: batchId={}, file={}", batch.getId(), item.getFileName(), e);
+                fail(batch, item, "문서에서 내용을 읽을 수 없습니다.");
+            } finally {
+                extractionSlots.release();
+            }
+        }, executor);
+    }
+
+    private void analyzeLoop(AnalysisBatch batch) {
+        while (true) {
+            AnalysisBatch.Pending next;
+            try {
+                next = batch.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (next == null) return;
+            analyze(batch, next);
+        }
+    }
+
+    private void analyze(AnalysisBatch batch, AnalysisBatch.Pending pending) {
+        AnalysisBatch.Item item = pending.item();
+        // 취소된 배치의 항목은 이미 실패로 표시되어 있다.
+        if (batch.isCancelled()) return;
+        if (!awaitQuota(batch)) {
+            fail(batch, item, "일괄 분석이 중단되었습니다.");
+            return;
+        }
+        item.analyzing();
+        publish(batch, item);
+
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ResumeHistory history = aiService.analyzeAndSave(pending.text(), batch.getOwnerEmail());
+                record("succeeded", start);
+                batch.succeeded(item, history.getId());
+                publish(batch, item);
+                return;
+            } catch (Exception e) {
+                if (LlmErrors.isRetryable(e) && attempt < maxAttempts && sleep(backoff(attempt))) {
+                    continue;
+                }
+                record("failed", start);
+                fail(batch, item, "AI 분석 중 오류가 발생했습니다: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // 사용자의 일괄 분석 한도에서 항목 하나만큼 쓴다. 모자라면 채워질 때까지 기다리고, 중단/취소되면 false.
+    private boolean awaitQuota(AnalysisBatch batch) {
+        while (!batch.isCancelled()) {
+            try {
+                itemQuota.acquire(batch.getOwnerEmail());
+                return true;
+            } catch (RateLimitExceededException e) {
+                if (!sleep(e.getRetryAfter())) return false;
+            }
+        }
+        return false;
+    }
+
+    private void fail(AnalysisBatch batch, AnalysisBatch.Item item, String errorMessage) {
+        batch.failed(item, errorMessage);
+        publish(batch, item);
+    }
+
+    private void publish(AnalysisBatch batch, AnalysisBatch.Item item) {
+        messagingTemplate.convertAndSend("/topic/batches/" + batch.getId(), BatchItemProgress.from(batch, item));
+    }
+
+    // 항목 1건의 분석 단계(AI 호출 + 저장, 재시도 포함) 소요 시간
+    private void record(String outcome, long startNanos) {
+        Timer.builder("resumepro.batch.item").tag("outcome", outcome).register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    // base * 2^(attempt-1), ±20% 지터
+    private Duration backoff(int attempt) {
+        long exponential = baseBackoff.toMillis() << Math.min(attempt - 1, 10);
+        return Duration.ofMillis((long) (exponential * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // macOS 압축 메타데이터(__MACOSX/, ._파일)와 숨김 파일은 건너뛴다.
+    private static boolean isHidden(String name) {
+        return name.startsWith("__MACOSX/") || fileName(name).startsWith(".");
+    }
+
+    private static String fileName(String entryName) {
+        return entryName.substring(entryName.lastIndexOf('/') + 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.resumepro.chat;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * historyId 하나에 대한 상담 세션.
+ * 이력서/분석 맥락(context)은 세션 생성 시 한 번만 만들고, 최근 maxTurns 턴만 원문으로 유지한다.
+ * 창 밖으로 밀려난 턴은 짧은 요약 줄로 접어서 summary에 남긴다.
+ */
+public class ChatSession {
+
+    private static final int SUMMARY_ANSWER_CHARS = 150;
+    private static final int MAX_SUMMARY_CHARS = 1500;
+    private static final String NO_ANSWER = "(답변 없음)";
+
+    private final String context;
+    // 이력 소유자, 상담 요청/토픽 구독이 본인 것인지 확인할 때 쓴다.
+    private final String ownerEmail;
+    // 기존 방식(매 턴 이력서+분석 전체 재전송)의 맥락 토큰 수, 비교 지표용
+    private final int baselineContextTokens;
+    private final int maxTurns;
+    private final Deque<Message> turns = new ArrayDeque<>();
+    private final StringBuilder summary = new StringBuilder();
+
+    public ChatSession(String context, String ownerEmail, int baselineContextTokens, int maxTurns) {
+        this.context = context;
+        this.ownerEmail = ownerEmail;
+        this.baselineContextTokens = baselineContextTokens;
+        this.maxTurns = maxTurns;
+    }
+
+    public String getOwnerEmail() {
+        return ownerEmail;
+    }
+
+    public int getBaselineContextTokens() {
+        return baselineContextTokens;
+    }
+
+    // 매 턴 앞부분이 바뀌지 않도록 context를 항상 맨 앞에 둔다 (프롬프트 접두사 캐시에 유리).
+    public synchronized String systemPrompt() {
+        if (summary.isEmpty()) return context;
+        return context + "\n\n[이전 대화 요약]\n" + summary;
+    }
+
+    public synchronized List<Message> history() {
+        return new ArrayList<>(turns);
+    }
+
+    /**
+     * 한 턴을 기록한다. 답변이 없으면(첫 토큰 전에 취소 등) 자리표시 문구로 남긴다.
+     * 같은 질문을 다시 해서 같은 답을 받은 것도 별개의 턴이다 (재전송으로 합쳐진 요청은 ChatController가 기록 전에 거른다).
+     */
+    public synchronized void record(String question, String answer) {
+        String text = answer == null || answer.isBlank() ? NO_ANSWER : answer;
+        turns.addLast(new UserMessage(question));
+        turns.addLast(new AssistantMessage(text));
+
+        while (turns.size() > maxTurns * 2) {
+            String oldQuestion = turns.removeFirst().getText();
+            String oldAnswer = turns.removeFirst().getText();
+            fold(oldQuestion, oldAnswer);
+        }
+    }
+
+    private void fold(String question, String rawAnswer) {
+        String answer = rawAnswer == null ? NO_ANSWER : rawAnswer;
+        String shortAnswer = answer.length() > SUMMARY_ANSWER_CHARS
+                ? answer.substring(0, SUMMARY_ANSWER_CHARS) + "..."
+                : answer;
+        summary.append("Q: ").append(question).append(" / A: ").append(shortAnswer.replace('\n', ' ')).append('\n');
+
+        // 요약도 무한히 커지지 않도록 오래된 줄부터 버린다.
+        while (summary.length() > MAX_SUMMARY_CHARS) {
+            int firstLineEnd = summary.indexOf("\n");
+            if (firstLineEnd < 0) {
+                summary.setLength(0);
+                break;
+            }
+            summary.delete(0, firstLineEnd + 1);
+        }
+    }
+}
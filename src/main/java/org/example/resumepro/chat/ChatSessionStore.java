@@ -0,0 +1,77 @@
+package org.example.resumepro.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.resumepro.ai.PromptBuilder;
+import org.example.resumepro.ai.TokenEstimator;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.ResumeRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * historyId별 상담 세션 저장소. 메모리 상한(maximumSize)과 유휴 만료(expireAfterAccess)가 있어
+ * 오래 쓰지 않은 세션은 자동으로 정리되고, 다시 대화하면 DB에서 맥락을 한 번 읽어 새로 만든다.
+ */
+@Component
+public class ChatSessionStore {
+
+    private final Cache<Long, ChatSession> sessions;
+    private final ResumeRepository resumeRepository;
+    private final PromptBuilder promptBuilder;
+    private final int maxTurns;
+    private final DistributionSummary baselineTokens;
+    private final DistributionSummary sessionTokens;
+
+    public ChatSessionStore(ResumeRepository resumeRepository, PromptBuilder promptBuilder,
+                            @Value("${resumepro.chat.session.max-sessions:500}") long maxSessions,
+                            @Value("${resumepro.chat.session.idle-timeout:30m}") Duration idleTimeout,
+                            @Value("${resumepro.chat.session.max-turns:6}") int maxTurns,
+                            MeterRegistry meterRegistry) {
+        this.resumeRepository = resumeRepository;
+        this.promptBuilder = promptBuilder;
+        this.maxTurns = maxTurns;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "chatSessions");
+
+        // 같은 턴을 기존 방식(이력서+분석+질문 전체 재전송)으로 보냈을 때와 세션 방식의 프롬프트 토큰 비교
+        this.baselineTokens = DistributionSummary.builder("resumepro.chat.prompt.tokens")
+                .tag("mode", "baseline").register(meterRegistry);
+        this.sessionTokens = DistributionSummary.builder("resumepro.chat.prompt.tokens")
+                .tag("mode", "session").register(meterRegistry);
+    }
+
+    public ChatSession get(Long historyId) {
+        return sessions.get(historyId, this::load);
+    }
+
+    public void recordPromptTokens(ChatSession session, String systemPrompt, List<Message> history, String userMessage) {
+        int questionTokens = TokenEstimator.estimate(userMessage);
+        int historyTokens = history.stream().mapToInt(message -> TokenEstimator.estimate(message.getText())).sum();
+        baselineTokens.record(session.getBaselineContextTokens() + questionTokens);
+        sessionTokens.record(TokenEstimator.estimate(systemPrompt) + historyTokens + questionTokens);
+    }
+
+    private ChatSession load(Long historyId) {
+        ResumeHistory history = resumeRepository.findWithContentById(historyId).orElseThrow();
+        // 연속 공백/쪽 번호 정리와 토큰 예산은 세션 생성 시 한 번만 적용한다.
+        PromptBuilder.ChatContext fitted = promptBuilder.chatContext(history.getUserResume(), history.getAiResponse());
+        String context = "너는 이력서 분석 전문가야. 다음 이력서 분석 결과에 대해 사용자와 대화해줘.\n"
+                + "이력서 원문: " + fitted.resume() + "\n"
+                + "기존 분석 내용: " + fitted.analysis();
+        int baselineContextTokens = TokenEstimator.estimate(history.getUserResume())
+                + TokenEstimator.estimate(history.getAiResponse());
+        return new ChatSession(context, history.getUserEmail(), baselineContextTokens, maxTurns);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.resumepro.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 진행 중인 상담 답변 스트림을 질문한 STOMP 세션별로 기억한다.
+ * 세션이 끊기거나 답변 토픽 구독을 취소하면 스트림을 취소해, 받을 사람이 없는 답변을 계속 생성(토큰 과금)하지 않는다.
+ */
+@Component
+public class ChatStreams {
+
+    private record Stream(String destination, Disposable.Swap subscription) {
+    }
+
+    private final Map<String, Set<Stream>> streams = new ConcurrentHashMap<>();
+    // 세션별 구독 id → 목적지 (UNSUBSCRIBE 프레임에는 구독 id만 있다)
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>();
+    private final Counter cancelled;
+
+    public ChatStreams(MeterRegistry meterRegistry) {
+        this.cancelled = Counter.builder("resumepro.chat.stream.cancelled").register(meterRegistry);
+    }
+
+    /**
+     * 구독하기 전에 등록하고, 돌려받은 Swap에 실제 구독을 넣는다. 그 사이 세션이 끊겼으면 넣는 즉시 취소된다.
+     * 스트림이 끝나면(doFinally) unregister로 지운다.
+     */
+    public Disposable.Swap register(String sessionId, String destination) {
+        Stream stream = new Stream(destination, Disposables.swap());
+        streams.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(stream);
+        return stream.subscription();
+    }
+
+    public void unregister(String sessionId, Disposable.Swap subscription) {
+        streams.computeIfPresent(sessionId, (id, active) -> {
+            active.removeIf(stream -> stream.subscription() == subscription);
+            return active.isEmpty() ? null : active;
+        });
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        Message<byte[]> message = event.getMessage();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (sessionId == null || subscriptionId == null || destination == null) return;
+        subscriptions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        Message<byte[]> message = event.getMessage();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        Map<String, String> bySubscription = sessionId != null ? subscriptions.get(sessionId) : null;
+        String destination = bySubscription != null && subscriptionId != null ? bySubscription.remove(subscriptionId) : null;
+        if (destination == null) return;
+
+        Set<Stream> active = streams.get(sessionId);
+        if (active == null) return;
+        for (Stream stream : active) {
+            if (stream.destination().equals(destination)) {
+                cancel(stream);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        subscriptions.remove(event.getSessionId());
+        Set<Stream> active = streams.remove(event.getSessionId());
+        if (active != null) {
+            active.forEach(this::cancel);
+        }
+    }
+
+    private void cancel(Stream stream) {
+        if (!stream.subscription().isDisposed()) {
+            stream.subscription().dispose();
+            cancelled.increment();
+        }
+    }
+}
@@ -1,15 +1,96 @@
 package org.example.resumepro.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.example.resumepro.ai.LlmAdmissionAdvisor;
+import org.example.resumepro.ai.LlmUsageAdvisor;
+import org.example.resumepro.ai.ResilientChatModel;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.ChatClientCustomizer;
+import org.springframework.ai.chat.client.observation.ChatClientObservationConvention;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.google.genai.GoogleGenAiChatOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
 @Configuration
 public class AiConfig {
 
+    @Value("${resumepro.ai.resilience.call-timeout:60s}")
+    private Duration callTimeout;
+
+    @Value("${resumepro.ai.resilience.first-chunk-timeout:20s}")
+    private Duration firstChunkTimeout;
+
+    @Value("${resumepro.ai.resilience.idle-timeout:15s}")
+    private Duration idleTimeout;
+
+    // 최근 window-size번 중 minimum-calls 이상 호출되었고 실패율이 failure-rate-threshold 이상이면 open-duration 동안 차단
+    @Value("${resumepro.ai.resilience.circuit.window-size:20}")
+    private int circuitWindowSize;
+
+    @Value("${resumepro.ai.resilience.circuit.minimum-calls:10}")
+    private int circuitMinimumCalls;
+
+    @Value("${resumepro.ai.resilience.circuit.failure-rate-threshold:0.5}")
+    private double circuitFailureRateThreshold;
+
+    @Value("${resumepro.ai.resilience.circuit.open-duration:30s}")
+    private Duration circuitOpenDuration;
+
+    // 보조 모델 이름이 비어 있으면 헤지하지 않는다.
+    @Value("${resumepro.ai.resilience.hedge.secondary-model:}")
+    private String hedgeSecondaryModel;
+
+    @Value("${resumepro.ai.resilience.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${resumepro.ai.resilience.hedge.min-delay:5s}")
+    private Duration hedgeMinDelay;
+
+    // 분석(AiService)과 상담(ChatController)이 같은 ChatClient를 써서 전역 동시 호출 상한과 회로 차단기를 공유한다.
+    // 자동 구성 ChatClient.Builder는 감싸지 않은 ChatModel에 묶여 있으므로, 같은 관측 설정과 커스터마이저로 직접 만든다.
     @Bean
-    public ChatClient chatClient(ChatClient.Builder builder) {
-        return builder.build();
+    public ChatClient chatClient(ChatModel chatModel, LlmAdmissionAdvisor llmAdmissionAdvisor,
+                                 LlmUsageAdvisor llmUsageAdvisor, MeterRegistry meterRegistry,
+                                 ObjectProvider<ObservationRegistry> observationRegistry,
+                                 ObjectProvider<ChatClientObservationConvention> observationConvention,
+                                 ObjectProvider<ChatClientCustomizer> customizers) {
+        boolean hedging = !hedgeSecondaryModel.isBlank();
+        ResilientChatModel resilientChatModel = new ResilientChatModel(chatModel,
+                new ResilientChatModel.Settings(callTimeout, firstChunkTimeout, idleTimeout,
+                        circuitWindowSize, circuitMinimumCalls, circuitFailureRateThreshold, circuitOpenDuration,
+                        hedging ? hedgePercentile : 0, hedgeMinDelay),
+                hedging ? withModel(hedgeSecondaryModel) : null,
+                meterRegistry);
+        ChatClient.Builder builder = ChatClient.builder(resilientChatModel,
+                observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP), observationConvention.getIfUnique());
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder
+                .defaultAdvisors(llmAdmissionAdvisor, llmUsageAdvisor)
+                .build();
+    }
+
+    // 같은 프롬프트를 모델만 바꿔서 보낸다 (그 밖의 옵션은 유지).
+    private static UnaryOperator<Prompt> withModel(String model) {
+        return prompt -> {
+            ChatOptions options;
+            if (prompt.getOptions() instanceof GoogleGenAiChatOptions gemini) {
+                GoogleGenAiChatOptions copy = gemini.copy();
+                copy.setModel(model);
+                options = copy;
+            } else {
+                options = ChatOptions.builder().model(model).build();
+            }
+            return new Prompt(prompt.getInstructions(), options);
+        };
     }
 
 }
@@ -1,4 +1,51 @@
 package org.example.resumepro.config;
 
-public class JwtFilter {
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.resumepro.entity.User;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authorization: Bearer 헤더의 access 토큰을 검증해 SecurityContext에 사용자를 넣는다.
+ * 토큰만으로 사용자를 복원하므로 DB를 조회하지 않는다. 토큰이 없거나 잘못되면 인증 없이 통과시키고,
+ * 로그인이 필요한 엔드포인트가 401을 돌려준다.
+ */
+public class JwtFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public JwtFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            try {
+                User user = jwtUtil.parseAccessToken(header.substring(BEARER_PREFIX.length()));
+                List<SimpleGrantedAuthority> authorities = user.getRole() != null
+                        ? List.of(new SimpleGrantedAuthority(user.getRole()))
+                        : List.of();
+                SecurityContextHolder.getContext()
+                        .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, authorities));
+            } catch (JwtException e) {
+                SecurityContextHolder.clearContext();
+            }
+        }
+        chain.doFilter(request, response);
+    }
 }
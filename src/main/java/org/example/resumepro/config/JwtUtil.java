@@ -1,4 +1,118 @@
 package org.example.resumepro.config;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * HS256 JWT 발급/검증. 서명 키와 파서는 생성 시 한 번만 만들어 두고 재사용한다.
+ * access 토큰에는 사용자 식별 정보(id, 이메일, 닉네임, 권한)를 담아 요청마다 DB를 조회하지 않게 하고,
+ * refresh 토큰은 이메일만 담아 재발급 시 DB에서 사용자를 다시 확인한다.
+ */
+@Slf4j
+@Component
 public class JwtUtil {
+
+    private static final String TYPE_CLAIM = "typ";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    public JwtUtil(@Value("${resumepro.jwt.secret:}") String secret,
+                   @Value("${resumepro.jwt.access-ttl:15m}") Duration accessTtl,
+                   @Value("${resumepro.jwt.refresh-ttl:14d}") Duration refreshTtl) {
+        if (StringUtils.hasText(secret)) {
+            this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        } else {
+            // 키가 없으면 임시 키를 만든다. 재시작하거나 노드가 여러 대면 기존 토큰이 무효가 된다.
+            log.warn("resumepro.jwt.secret이 설정되지 않아 임시 서명 키를 사용합니다.");
+            this.key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        }
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(30)
+                .build();
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+    }
+
+    public String createAccessToken(User user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(TYPE_CLAIM, ACCESS)
+                .claim("uid", user.getId())
+                .claim("nickname", user.getNickname())
+                .claim("role", user.getRole())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(accessTtl)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public String createRefreshToken(User user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(TYPE_CLAIM, REFRESH)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(refreshTtl)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * access 토큰을 검증하고 토큰에 담긴 정보로 User를 만든다 (영속 상태가 아닌 값 객체로만 사용할 것).
+     * 서명 오류, 만료, 형식 오류면 JwtException.
+     */
+    public User parseAccessToken(String token) {
+        Claims claims = parse(token, ACCESS);
+        Number id = claims.get("uid", Number.class);
+        return User.builder()
+                .id(id != null ? id.longValue() : null)
+                .email(claims.getSubject())
+                .nickname(claims.get("nickname", String.class))
+                .role(claims.get("role", String.class))
+                .build();
+    }
+
+    // refresh 토큰을 검증하고 이메일을 돌려준다.
+    public String parseRefreshToken(String token) {
+        return parse(token, REFRESH).getSubject();
+    }
+
+    public Duration getAccessTtl() {
+        return accessTtl;
+    }
+
+    private Claims parse(String token, String expectedType) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("토큰이 비어 있습니다.", e);
+        }
+        if (!expectedType.equals(claims.get(TYPE_CLAIM, String.class))) {
+            throw new JwtException("토큰 종류가 올바르지 않습니다.");
+        }
+        return claims;
+    }
 }
@@ -0,0 +1,15 @@
+package org.example.resumepro.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 파라미터에 현재 로그인 사용자(User)를 주입한다. 로그인하지 않았으면 null.
+ * JWT로 인증된 경우 토큰의 정보로, 세션 모드에서는 세션의 "user" 속성으로 채운다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LoginUser {
+}
@@ -0,0 +1,112 @@
+package org.example.resumepro.config;
+
+import io.jsonwebtoken.JwtException;
+import org.example.resumepro.batch.BatchAnalysisService;
+import org.example.resumepro.chat.ChatSessionStore;
+import org.example.resumepro.entity.User;
+import org.example.resumepro.job.AnalysisJobService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * STOMP 인증과 구독 권한 확인.
+ * CONNECT: Authorization: Bearer 헤더의 access 토큰, 없으면 핸드셰이크 때 옮겨 둔 HTTP 세션의 "user"로 사용자를 정한다.
+ * 둘 다 없으면 연결을 거부한다(ERROR 프레임). 이후 메시지의 Principal 이름은 사용자 이메일이다.
+ * SUBSCRIBE: 상담(/topic/messages), 작업(/topic/jobs), 일괄 분석(/topic/batches) 토픽은 본인 것만 구독할 수 있다.
+ */
+class StompAuthInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String MESSAGES = "/topic/messages/";
+    private static final String JOBS = "/topic/jobs/";
+    private static final String BATCHES = "/topic/batches/";
+
+    private final JwtUtil jwtUtil;
+    private final ChatSessionStore chatSessionStore;
+    private final AnalysisJobService analysisJobService;
+    // BatchAnalysisService는 SimpMessagingTemplate을 쓰므로 브로커 설정과 순환하지 않게 사용할 때 꺼낸다.
+    private final ObjectProvider<BatchAnalysisService> batchAnalysisService;
+
+    StompAuthInterceptor(JwtUtil jwtUtil, ChatSessionStore chatSessionStore, AnalysisJobService analysisJobService,
+                         ObjectProvider<BatchAnalysisService> batchAnalysisService) {
+        this.jwtUtil = jwtUtil;
+        this.chatSessionStore = chatSessionStore;
+        this.analysisJobService = analysisJobService;
+        this.batchAnalysisService = batchAnalysisService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) return message;
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor));
+            case SUBSCRIBE -> authorize(accessor.getDestination(), userEmail(accessor));
+            case SEND -> userEmail(accessor);
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private Principal authenticate(StompHeaderAccessor accessor) {
+        User user = null;
+        String header = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            try {
+                user = jwtUtil.parseAccessToken(header.substring(BEARER_PREFIX.length()));
+            } catch (JwtException e) {
+                throw new IllegalArgumentException("로그인이 만료되었습니다. 다시 로그인해주세요.");
+            }
+        } else {
+            Map<String, Object> attributes = accessor.getSessionAttributes();
+            if (attributes != null && attributes.get("user") instanceof User sessionUser) {
+                user = sessionUser;
+            }
+        }
+        if (user == null || user.getEmail() == null) {
+            throw new IllegalArgumentException("로그인이 필요합니다.");
+        }
+
+        List<SimpleGrantedAuthority> authorities = user.getRole() != null
+                ? List.of(new SimpleGrantedAuthority(user.getRole()))
+                : List.of();
+        return new UsernamePasswordAuthenticationToken(user.getEmail(), null, authorities);
+    }
+
+    private static String userEmail(StompHeaderAccessor accessor) {
+        Principal user = accessor.getUser();
+        if (user == null) {
+            throw new IllegalArgumentException("로그인이 필요합니다.");
+        }
+        return user.getName();
+    }
+
+    // 소유자가 아니면 각 서비스와 같은 "찾을 수 없습니다" 오류로 거부한다.
+    private void authorize(String destination, String userEmail) {
+        if (destination == null) return;
+
+        if (destination.startsWith(MESSAGES)) {
+            Long historyId = Long.valueOf(destination.substring(MESSAGES.length()));
+            if (!chatSessionStore.get(historyId).getOwnerEmail().equals(userEmail)) {
+                throw new IllegalArgumentException("이력을 찾을 수 없습니다.");
+            }
+        } else if (destination.startsWith(JOBS)) {
+            analysisJobService.getJob(Long.valueOf(destination.substring(JOBS.length())), userEmail);
+        } else if (destination.startsWith(BATCHES)) {
+            batchAnalysisService.getObject().getBatch(destination.substring(BATCHES.length()), userEmail);
+        }
+    }
+}
@@ -1,25 +1,141 @@
 package org.example.resumepro.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // 가상 스레드 모드면 채널 메시지 처리도 가상 스레드에서 실행 (AI 호출로 블로킹되는 핸들러 대비)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 느린 SockJS 클라이언트 대비: 세션별 전송 대기 버퍼와 전송 시간 상한 (넘기면 해당 세션만 끊는다)
+    @Value("${resumepro.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${resumepro.websocket.send-time-limit:15000}")
+    private int sendTimeLimit;
+
+    @Value("${resumepro.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    // simple: JVM 내 브로커 (단일 노드), relay: 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등)로 중계해 노드 간 공유
+    @Value("${resumepro.websocket.broker:simple}")
+    private String brokerMode;
+
+    @Value("${resumepro.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${resumepro.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${resumepro.websocket.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${resumepro.websocket.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${resumepro.websocket.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${resumepro.websocket.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${resumepro.websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${resumepro.websocket.relay.heartbeat-interval:10000}")
+    private long relayHeartbeatInterval;
+
+    // 가상 스레드를 쓰지 않을 때의 채널 스레드 풀 (inbound: 클라이언트 → 서버, outbound: 서버 → 클라이언트)
+    @Value("${resumepro.websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${resumepro.websocket.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${resumepro.websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${resumepro.websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${resumepro.websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${resumepro.websocket.outbound.queue-capacity:1000}")
+    private int outboundQueueCapacity;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            var relay = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode)
+                    .setSystemHeartbeatSendInterval(relayHeartbeatInterval)
+                    .setSystemHeartbeatReceiveInterval(relayHeartbeatInterval);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            config.enableSimpleBroker("/topic");
+        }
         config.setApplicationDestinationPrefixes("/app");
+        // 스트리밍 답변 조각이 세션별로 발행 순서대로 전달되도록 보장
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit);
+        registration.setSendTimeLimit(sendTimeLimit);
+        registration.setMessageSizeLimit(messageSizeLimit);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // 세션 로그인 사용자("user")를 STOMP 세션 속성으로 옮긴다 (CONNECT 인증은 StompAuthInterceptor).
         registry.addEndpoint("/ws-chat")
                 .setAllowedOrigins("http://localhost:5173")
+                .addInterceptors(new HttpSessionHandshakeInterceptor())
                 .withSockJS();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-inbound-"));
+        } else {
+            registration.taskExecutor()
+                    .corePoolSize(inboundCorePoolSize)
+                    .maxPoolSize(inboundMaxPoolSize)
+                    .queueCapacity(inboundQueueCapacity);
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-outbound-"));
+        } else {
+            registration.taskExecutor()
+                    .corePoolSize(outboundCorePoolSize)
+                    .maxPoolSize(outboundMaxPoolSize)
+                    .queueCapacity(outboundQueueCapacity);
+        }
+    }
+}
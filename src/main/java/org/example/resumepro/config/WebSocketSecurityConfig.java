@@ -0,0 +1,29 @@
+package org.example.resumepro.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.resumepro.batch.BatchAnalysisService;
+import org.example.resumepro.chat.ChatSessionStore;
+import org.example.resumepro.job.AnalysisJobService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP 인바운드 채널에 인증/구독 권한 확인(StompAuthInterceptor)을 붙인다.
+ * 브로커/전송 설정(WebSocketConfig)과 분리해 두어 WebSocketConfig만 올리는 테스트는 서비스 빈 없이 뜬다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final JwtUtil jwtUtil;
+    private final ChatSessionStore chatSessionStore;
+    private final AnalysisJobService analysisJobService;
+    private final ObjectProvider<BatchAnalysisService> batchAnalysisService;
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new StompAuthInterceptor(jwtUtil, chatSessionStore, analysisJobService, batchAnalysisService));
+    }
+}
@@ -1,31 +1,53 @@
 package org.example.resumepro.controller;
 
-import jakarta.servlet.http.HttpSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.example.resumepro.ai.UserRateLimiter;
+import org.example.resumepro.config.LoginUser;
+import org.example.resumepro.dto.HistoryDetail;
+import org.example.resumepro.dto.HistoryPage;
+import org.example.resumepro.dto.HistorySearchPage;
 import org.example.resumepro.entity.ResumeHistory;
 import org.example.resumepro.entity.User;
+import org.example.resumepro.pdf.DocumentExtractionException;
+import org.example.resumepro.pdf.PdfReportService;
+import org.example.resumepro.search.HistorySearchService;
 import org.example.resumepro.service.AiService;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriUtils;
+import reactor.core.Disposable;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @RequestMapping("/api/ai")
 @RequiredArgsConstructor
 public class AiController {
 
+    // 스트리밍 응답 최대 유지 시간 (긴 리포트 생성 고려)
+    private static final long STREAM_TIMEOUT_MS = 180_000L;
+
     private final AiService aiService;
+    private final PdfReportService pdfReportService;
+    private final UserRateLimiter userRateLimiter;
+    private final HistorySearchService historySearchService;
+    private final MeterRegistry meterRegistry;
 
     // 1. 텍스트 분석 실행 (handleCheck와 매칭)
     @PostMapping("/resume-check")
-    public ResponseEntity<?> checkResume(@RequestBody Map<String, String> request, HttpSession session) {
-        User user = (User) session.getAttribute("user");
+    public ResponseEntity<?> checkResume(@RequestBody Map<String, String> request, @LoginUser User user) {
         if (user == null) return ResponseEntity.status(401).build();
+        userRateLimiter.acquire(user.getEmail());
 
         String userResume = request.get("resume");
         // Service의 checkAndSaveResume(String, String) 호출
@@ -34,24 +56,110 @@ public class AiController {
         return ResponseEntity.ok(Map.of("content", response));
     }
 
-    // 2. 히스토리 조회 (fetchHistory와 매칭)
+    // 1-1. 텍스트 분석 스트리밍 실행 (SSE: chunk 이벤트 반복 후 done 이벤트)
+    @PostMapping(value = "/resume-check/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> checkResumeStream(@RequestBody Map<String, String> request, @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+        userRateLimiter.acquire(user.getEmail());
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        // 사용자 체감 지연: 첫 조각까지 시간과 스트림 전체 시간
+        long start = System.nanoTime();
+        AtomicBoolean firstChunk = new AtomicBoolean(true);
+        Disposable subscription = aiService.streamAndSaveResume(request.get("resume"), user.getEmail())
+                .subscribe(
+                        chunk -> {
+                            if (firstChunk.compareAndSet(true, false)) {
+                                recordSince("resumepro.analysis.stream.first.chunk", start, "success");
+                            }
+                            sendEvent(emitter, "chunk", chunk);
+                        },
+                        error -> {
+                            recordSince("resumepro.analysis.stream.duration", start, "error");
+                            sendEvent(emitter, "error", "AI 분석 중 오류가 발생했습니다: " + error.getMessage());
+                            emitter.complete();
+                        },
+                        () -> {
+                            recordSince("resumepro.analysis.stream.duration", start, "success");
+                            sendEvent(emitter, "done", "");
+                            emitter.complete();
+                        });
+
+        // 클라이언트가 끊기거나 타임아웃되면 업스트림 생성도 중단
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void recordSince(String metric, long startNanos, String outcome) {
+        Timer.builder(metric).tag("outcome", outcome).register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, String data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 이미 닫힌 연결: 이후 전송은 무시하고 스트림 정리는 onError/onTimeout에서 처리
+            emitter.completeWithError(e);
+        }
+    }
+
+    // 2. 히스토리 조회 (fetchHistory와 매칭) - 미리보기 목록, 커서 기반 페이지네이션
     @GetMapping("/history")
-    public ResponseEntity<List<ResumeHistory>> getHistory(HttpSession session) {
-        User user = (User) session.getAttribute("user");
+    public ResponseEntity<HistoryPage> getHistory(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int size,
+                                                  @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+
+        try {
+            return ResponseEntity.ok(aiService.getMyHistory(user.getEmail(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 2-1. 히스토리 검색 (이력서 본문/분석 결과 전문 검색, 점수순 페이지)
+    @GetMapping("/history/search")
+    public ResponseEntity<HistorySearchPage> searchHistory(@RequestParam("q") String query,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+
+        try {
+            return ResponseEntity.ok(historySearchService.search(user.getEmail(), query, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 2-2. 히스토리 상세 (이력서 원문과 분석 결과 전체)
+    @GetMapping("/history/{id}")
+    public ResponseEntity<HistoryDetail> getHistoryDetail(@PathVariable Long id, @LoginUser User user) {
         if (user == null) return ResponseEntity.status(401).build();
 
-        // Service의 getMyHistory 호출
-        return ResponseEntity.ok(aiService.getMyHistory(user.getEmail()));
+        try {
+            return ResponseEntity.ok(aiService.getMyHistoryDetail(id, user.getEmail()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     // 3. PDF 업로드 분석 (handleFileUpload와 매칭)
     @PostMapping("/upload-resume")
-    public ResponseEntity<?> uploadResume(@RequestParam("file") MultipartFile file, HttpSession session) {
-        User user = (User) session.getAttribute("user");
+    public ResponseEntity<?> uploadResume(@RequestParam("file") MultipartFile file, @LoginUser User user) {
         if (user == null) return ResponseEntity.status(401).build();
+        userRateLimiter.acquire(user.getEmail());
 
         // PDF에서 텍스트 추출
-        String extractedText = aiService.extractTextFromPdf(file);
+        String extractedText;
+        try {
+            extractedText = aiService.extractTextFromPdf(file);
+        } catch (DocumentExtractionException e) {
+            return ResponseEntity.badRequest().body(Map.of("content", e.getMessage()));
+        }
         if (extractedText == null || extractedText.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("content", "PDF에서 내용을 읽을 수 없습니다."));
         }
@@ -62,15 +170,20 @@ public class AiController {
         return ResponseEntity.ok(Map.of("content", response));
     }
 
-    // 4. PDF 다운로드
+    // 4. PDF 다운로드 (본인 이력만, 렌더링 결과를 응답 스트림에 바로 쓴다)
+    // 200 헤더를 보내고 나면 상태 코드를 바꿀 수 없으므로 이력 조회와 폰트 확인을 먼저 끝낸다.
     @GetMapping("/download-pdf/{id}")
-    public ResponseEntity<byte[]> downloadPdf(@PathVariable Long id) {
-        byte[] pdfBytes = aiService.generatePdf(id);
-        String encodedFileName = UriUtils.encode("분석리포트.pdf", StandardCharsets.UTF_8);
+    public ResponseEntity<StreamingResponseBody> downloadPdf(@PathVariable Long id, @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+        if (!pdfReportService.isAvailable()) return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+        Optional<ResumeHistory> history = pdfReportService.findOwnedHistory(id, user.getEmail());
+        if (history.isEmpty()) return ResponseEntity.notFound().build();
 
+        String encodedFileName = UriUtils.encode("분석리포트.pdf", StandardCharsets.UTF_8);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PDF_VALUE)
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"")
-                .body(pdfBytes);
+                .body(out -> pdfReportService.writeReport(history.get(), out));
     }
 }
\ No newline at end of file
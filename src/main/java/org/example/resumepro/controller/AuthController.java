@@ -2,10 +2,13 @@ package org.example.resumepro.controller;
 
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.example.resumepro.config.JwtUtil;
 import org.example.resumepro.dto.LoginRequest;
 import org.example.resumepro.dto.SignupRequest;
 import org.example.resumepro.entity.User;
 import org.example.resumepro.service.AuthService;
+import org.example.resumepro.service.AuthUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +21,11 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final JwtUtil jwtUtil;
+
+    // true면 세션에 사용자를 넣지 않고 토큰으로만 인증한다.
+    @Value("${resumepro.auth.stateless:false}")
+    private boolean stateless;
 
     @PostMapping("/signup")
     public ResponseEntity<String> signup(@RequestBody SignupRequest request) {
@@ -36,18 +44,48 @@ public class AuthController {
             @RequestBody LoginRequest request,
             HttpSession session
     ) {
-        User user = authService.login(request.getEmail(), request.getPassword());
+        User user;
+        try {
+            user = authService.login(request.getEmail(), request.getPassword());
+        } catch (AuthUnavailableException e) {
+            // 비밀번호 해시 풀이 포화 상태
+            return ResponseEntity.status(503).header("Retry-After", "1").body(Map.of("message", e.getMessage()));
+        }
 
-        session.setAttribute("user", user);
+        if (!stateless) {
+            session.setAttribute("user", user);
+        }
 
-        Map<String, String> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>();
         response.put("message", "로그인 성공");
         response.put("email", user.getEmail());
         response.put("nickname", user.getNickname());
+        putTokens(response, user);
 
         return ResponseEntity.ok(response);
     }
 
+    // refresh 토큰으로 access/refresh 토큰을 다시 발급한다 (탈퇴한 사용자는 거절).
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        try {
+            String email = jwtUtil.parseRefreshToken(request.get("refreshToken"));
+            User user = authService.getUser(email);
+
+            Map<String, Object> response = new HashMap<>();
+            putTokens(response, user);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(401).body(Map.of("message", "다시 로그인해주세요."));
+        }
+    }
+
+    private void putTokens(Map<String, Object> response, User user) {
+        response.put("accessToken", jwtUtil.createAccessToken(user));
+        response.put("refreshToken", jwtUtil.createRefreshToken(user));
+        response.put("expiresIn", jwtUtil.getAccessTtl().toSeconds());
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<String> logout(HttpSession session) {
         session.invalidate();
@@ -0,0 +1,138 @@
+package org.example.resumepro.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.example.resumepro.batch.AnalysisBatch;
+import org.example.resumepro.batch.BatchAnalysisService;
+import org.example.resumepro.config.LoginUser;
+import org.example.resumepro.dto.BatchResponse;
+import org.example.resumepro.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ai/batches")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private static final String TOO_LARGE = "업로드 파일이 너무 큽니다.";
+
+    private final BatchAnalysisService batchAnalysisService;
+
+    // ZIP 본문 업로드 상한. 전역 multipart 상한과 별개로 이 엔드포인트에만 적용된다.
+    @Value("${resumepro.batch.max-upload-size:100MB}")
+    private DataSize maxUploadSize;
+
+    // 1. 일괄 분석 등록: 'file'에 ZIP 하나 또는 'files'에 여러 문서 (202 + batchId, 진행은 /topic/batches/{batchId})
+    //    multipart 요청은 전역 multipart 상한을 따른다. 큰 ZIP은 아래 본문 업로드를 쓴다.
+    //    항목별 AI 호출은 사용자별 일괄 분석 한도와 전역 동시 호출 상한을 따른다 (BatchAnalysisService).
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submit(@RequestParam(value = "file", required = false) MultipartFile zip,
+                                    @RequestParam(value = "files", required = false) List<MultipartFile> files,
+                                    @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+        if ((zip == null || zip.isEmpty()) && (files == null || files.isEmpty())) {
+            return ResponseEntity.badRequest().body(Map.of("content", "분석할 파일을 올려주세요."));
+        }
+
+        try {
+            AnalysisBatch batch;
+            if (zip != null && !zip.isEmpty()) {
+                try (InputStream in = zip.getInputStream()) {
+                    batch = batchAnalysisService.submitZip(in, user.getEmail());
+                }
+            } else {
+                batch = batchAnalysisService.submitFiles(files, user.getEmail());
+            }
+            return ResponseEntity.accepted().body(BatchResponse.from(batch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("content", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("content", "압축 파일을 읽을 수 없습니다."));
+        }
+    }
+
+    // 1-1. ZIP을 요청 본문 그대로 올리는 경우 (Content-Type: application/zip, max-upload-size까지)
+    @PostMapping(consumes = "application/zip")
+    public ResponseEntity<?> submitZip(HttpServletRequest request, @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+        long limit = maxUploadSize.toBytes();
+        if (request.getContentLengthLong() > limit) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("content", TOO_LARGE));
+        }
+
+        // Content-Length가 없거나(chunked) 틀려도 실제로 읽은 바이트로 막는다.
+        try (InputStream in = new LimitedInputStream(request.getInputStream(), limit)) {
+            return ResponseEntity.accepted().body(BatchResponse.from(batchAnalysisService.submitZip(in, user.getEmail())));
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("content", TOO_LARGE));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("content", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("content", "압축 파일을 읽을 수 없습니다."));
+        }
+    }
+
+    // 2. 일괄 분석 상태 조회 (항목별 상태와 historyId)
+    @GetMapping("/{batchId}")
+    public ResponseEntity<BatchResponse> getBatch(@PathVariable String batchId, @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+
+        try {
+            return ResponseEntity.ok(BatchResponse.from(batchAnalysisService.getBatch(batchId, user.getEmail())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private static class UploadTooLargeException extends IOException {
+    }
+
+    // limit 바이트를 넘겨 읽으려 하면 UploadTooLargeException
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) consume(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) consume(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            consume(skipped);
+            return skipped;
+        }
+
+        private void consume(long bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) throw new UploadTooLargeException();
+        }
+    }
+}
@@ -1,38 +1,157 @@
 package org.example.resumepro.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.example.resumepro.ai.LlmCallCoalescer;
+import org.example.resumepro.ai.LlmUnavailableException;
+import org.example.resumepro.ai.RateLimitExceededException;
+import org.example.resumepro.ai.ResumeFingerprint;
+import org.example.resumepro.ai.UserRateLimiter;
+import org.example.resumepro.chat.ChatSession;
+import org.example.resumepro.chat.ChatSessionStore;
+import org.example.resumepro.chat.ChatStreams;
 import org.example.resumepro.dto.ChatMessage;
-import org.example.resumepro.entity.ResumeHistory;
-import org.example.resumepro.repository.ResumeRepository;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.Message;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
+import reactor.core.Disposable;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Controller
 @RequiredArgsConstructor
 public class ChatController {
 
+    // 토큰을 이 개수 또는 이 시간 단위로 묶어서 한 프레임으로 보낸다 (프레임 수 = 브로커/클라이언트 부하)
+    private static final int FRAME_MAX_TOKENS = 32;
+    private static final Duration FRAME_INTERVAL = Duration.ofMillis(100);
+    // 업스트림 요청을 이 개수 단위로 나눈다. 프레임 발행(convertAndSend)은 막히지 않으므로 이것이 배압은 아니다.
+    // 느린 클라이언트에게 쌓이는 프레임은 세션별 전송 버퍼/시간 상한(resumepro.websocket.send-*)이 막고,
+    // 넘기면 세션이 닫히면서 ChatStreams가 이 스트림을 취소한다.
+    private static final int UPSTREAM_PREFETCH = 64;
+
     private final ChatClient chatClient;
-    private final ResumeRepository resumeRepository;
+    private final ChatSessionStore chatSessionStore;
+    private final ChatStreams chatStreams;
+    private final LlmCallCoalescer llmCallCoalescer;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserRateLimiter userRateLimiter;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
 
     @MessageMapping("/chat/{historyId}")
-    @SendTo("/topic/messages/{historyId}")
-    public ChatMessage handleChat(@DestinationVariable Long historyId, String userMessage) {
-        //1. 기존 이력서 분석 정보 조회
-        ResumeHistory history = resumeRepository.findById(historyId).orElseThrow();
+    public void handleChat(@DestinationVariable Long historyId, String userMessage, Principal principal,
+                           @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        //1. 세션에서 이력서 분석 맥락과 최근 대화 조회 (DB 조회는 세션 생성 시 한 번)
+        //   CONNECT 때 인증된 사용자(StompAuthInterceptor) 본인의 이력만 상담한다. 남의 토픽에는 아무것도 보내지 않는다.
+        ChatSession session = chatSessionStore.get(historyId);
+        if (principal == null || !session.getOwnerEmail().equals(principal.getName())) {
+            throw new IllegalArgumentException("이력을 찾을 수 없습니다.");
+        }
+        String destination = "/topic/messages/" + historyId;
+
+        // 같은 이력에 같은 질문이 이미 스트리밍 중이면(재전송 등) 그 답변이 토픽으로 오므로 새로 요청하지 않는다.
+        String fingerprint = historyId + ":" + ResumeFingerprint.sha256(userMessage);
+        if (!llmCallCoalescer.tryStartStream(fingerprint)) {
+            return;
+        }
+
+        // 구독 전에 실패하면(한도 초과, 프롬프트 구성 오류 등) doFinally가 불리지 않으므로 여기서 키를 풀어 준다.
+        boolean subscribed = false;
+        try {
+            // 로그인 사용자 단위 요청 한도. 넘으면 AI를 호출하지 않고 오류 프레임만 보낸다.
+            try {
+                userRateLimiter.acquire(principal.getName());
+            } catch (RateLimitExceededException e) {
+                messagingTemplate.convertAndSend(destination, rateLimitedMessage(e));
+                return;
+            }
 
-        //2. AI에게 이전 분석 맥락을 포함하여 질문
-        String aiPrompt = String.format(
-                "너는 이력서 분석 전문가야. 다음 이력서 분석 결과에 대해 사용자와 대화해줘.\n" +
-                        "이력서 원문: %s\n기존 분석 내용: %s\n사용자 질문: %s",
-                history.getUserResume(), history.getAiResponse(), userMessage
-        );
+            String systemPrompt = session.systemPrompt();
+            List<Message> history = session.history();
+            chatSessionStore.recordPromptTokens(session, systemPrompt, history, userMessage);
 
-        String aiResponse = chatClient.prompt().user(aiPrompt).call().content();
+            //2. 고정된 맥락 + 최근 대화 창 + 새 질문만 AI에게 전달하고, 답변은 조각 단위로 토픽에 발행
+            //   구독 후 바로 반환하므로 인바운드 채널 스레드가 답변 생성 동안 묶여 있지 않는다.
+            AtomicInteger seq = new AtomicInteger();
+            StringBuilder fullResponse = new StringBuilder();
+
+            // 질문 하나의 답변 전체(첫 프레임 지연은 별도 타이머)를 관측하고, LLM 호출 span을 그 아래에 둔다.
+            Observation observation = Observation.createNotStarted("resumepro.chat", observationRegistry)
+                    .contextualName("chat.answer")
+                    .start();
+            long start = System.nanoTime();
+
+            // 질문한 세션이 끊기거나 이 토픽 구독을 취소하면 생성을 멈춘다.
+            Disposable.Swap subscription = chatStreams.register(sessionId, destination);
+            try (Observation.Scope scope = observation.openScope()) {
+                subscription.update(chatClient.prompt()
+                        .system(systemPrompt)
+                        .messages(history)
+                        .user(userMessage)
+                        .stream()
+                        .content()
+                        .limitRate(UPSTREAM_PREFETCH)
+                        .bufferTimeout(FRAME_MAX_TOKENS, FRAME_INTERVAL)
+                        .map(tokens -> String.join("", tokens))
+                        .doOnError(observation::error)
+                        .doFinally(signal -> {
+                            chatStreams.unregister(sessionId, subscription);
+                            llmCallCoalescer.finishStream(fingerprint);
+                            observation.stop();
+                        })
+                        .subscribe(
+                                chunk -> {
+                                    if (seq.get() == 0) {
+                                        Timer.builder("resumepro.chat.first.frame").register(meterRegistry)
+                                                .record(Duration.ofNanos(System.nanoTime() - start));
+                                    }
+                                    fullResponse.append(chunk);
+                                    messagingTemplate.convertAndSend(destination,
+                                            new ChatMessage("AI", chunk, seq.getAndIncrement(), false));
+                                },
+                                error -> messagingTemplate.convertAndSend(destination,
+                                        error instanceof RateLimitExceededException limited
+                                                ? rateLimitedMessage(limited)
+                                                : new ChatMessage("AI", error instanceof LlmUnavailableException unavailable
+                                                        ? unavailable.getMessage() : "답변 생성 중 오류가 발생했습니다.",
+                                                        seq.getAndIncrement(), true)),
+                                () -> {
+                                    session.record(userMessage, fullResponse.toString());
+                                    messagingTemplate.convertAndSend(destination,
+                                            new ChatMessage("AI", "", seq.getAndIncrement(), true));
+                                }));
+            } catch (RuntimeException e) {
+                chatStreams.unregister(sessionId, subscription);
+                observation.error(e);
+                observation.stop();
+                throw e;
+            }
+            subscribed = true;
+        } catch (RuntimeException e) {
+            // 구독자에게 실패를 알려 답변을 기다리지 않게 한다.
+            messagingTemplate.convertAndSend(destination, new ChatMessage("AI", "답변 생성 중 오류가 발생했습니다.", 0, true));
+            throw e;
+        } finally {
+            if (!subscribed) {
+                llmCallCoalescer.finishStream(fingerprint);
+            }
+        }
+    }
 
-        return new ChatMessage("AI", aiResponse);
+    private static ChatMessage rateLimitedMessage(RateLimitExceededException e) {
+        return new ChatMessage("AI", e.getMessage() + " (" + e.retryAfterSeconds() + "초 후)", 0, true);
     }
 
 }
@@ -1,9 +1,12 @@
 package org.example.resumepro.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.resumepro.config.LoginUser;
+import org.example.resumepro.entity.User;
+import org.example.resumepro.mail.MailDispatcher;
+import org.example.resumepro.service.AiService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -16,10 +19,18 @@ import java.util.Map;
 public class EmailController {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailDispatcher mailDispatcher;
 
+    @Autowired
+    private AiService aiService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 발송은 백그라운드에서 하고 접수되면 바로 202를 돌려준다.
+    // 'historyId'를 함께 보내면 해당 분석의 PDF 리포트를 첨부한다 (본인 이력만).
     @PostMapping("/send-email")
-    public ResponseEntity<String> sendReport(@RequestBody Map<String, String> request) {
+    public ResponseEntity<String> sendReport(@RequestBody Map<String, String> request, @LoginUser User user) {
         // 프론트엔드에서 보낸 'email'과 'content' 키값을 정확히 매칭합니다.
         String email = request.get("email");
         String content = request.get("content");
@@ -28,16 +39,32 @@ public class EmailController {
             return ResponseEntity.badRequest().body("이메일 주소나 내용이 누락되었습니다.");
         }
 
+        Long historyId = null;
+        String historyParam = request.get("historyId");
+        if (historyParam != null && !historyParam.isBlank()) {
+            if (user == null) return ResponseEntity.status(401).body("로그인이 필요합니다.");
+            try {
+                historyId = Long.valueOf(historyParam);
+                aiService.getMyHistoryDetail(historyId, user.getEmail());
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().body("잘못된 historyId입니다.");
+            } catch (RuntimeException e) {
+                return ResponseEntity.status(404).body(e.getMessage());
+            }
+        }
+
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(email);
-            message.setSubject("[AI 이력서 분석] 검토 리포트 결과입니다.");
-            message.setText(content);
-            mailSender.send(message);
-            return ResponseEntity.ok("발송 성공");
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("발송 실패: " + e.getMessage());
+            mailDispatcher.enqueueReport(email, content, historyId);
+            countRequest("accepted", historyId != null);
+            return ResponseEntity.accepted().body("발송 요청이 접수되었습니다.");
+        } catch (IllegalStateException e) {
+            countRequest("rejected", historyId != null);
+            return ResponseEntity.status(503).body(e.getMessage());
         }
     }
 
+    private void countRequest(String outcome, boolean attachment) {
+        meterRegistry.counter("resumepro.mail.requests",
+                "outcome", outcome, "attachment", String.valueOf(attachment)).increment();
+    }
 }
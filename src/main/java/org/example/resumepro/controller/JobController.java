@@ -0,0 +1,69 @@
+package org.example.resumepro.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.resumepro.ai.UserRateLimiter;
+import org.example.resumepro.config.LoginUser;
+import org.example.resumepro.dto.AnalysisJobResponse;
+import org.example.resumepro.entity.User;
+import org.example.resumepro.pdf.DocumentExtractionException;
+import org.example.resumepro.job.AnalysisJobService;
+import org.example.resumepro.service.AiService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ai/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final AnalysisJobService jobService;
+    private final AiService aiService;
+    private final UserRateLimiter userRateLimiter;
+
+    // 1. 텍스트 분석 작업 등록 (202 + jobId 즉시 반환, 완료는 폴링 또는 /topic/jobs/{jobId} 구독)
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestBody Map<String, String> request, @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+        userRateLimiter.acquire(user.getEmail());
+
+        try {
+            return ResponseEntity.accepted()
+                    .body(AnalysisJobResponse.from(jobService.submit(request.get("resume"), user.getEmail())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("content", e.getMessage()));
+        }
+    }
+
+    // 2. PDF 업로드 분석 작업 등록
+    @PostMapping("/upload")
+    public ResponseEntity<?> submitUpload(@RequestParam("file") MultipartFile file, @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+        userRateLimiter.acquire(user.getEmail());
+
+        String extractedText;
+        try {
+            extractedText = aiService.extractTextFromPdf(file);
+        } catch (DocumentExtractionException e) {
+            return ResponseEntity.badRequest().body(Map.of("content", e.getMessage()));
+        }
+        if (extractedText == null || extractedText.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("content", "PDF에서 내용을 읽을 수 없습니다."));
+        }
+        return ResponseEntity.accepted().body(AnalysisJobResponse.from(jobService.submit(extractedText, user.getEmail())));
+    }
+
+    // 3. 작업 상태 조회
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable Long jobId, @LoginUser User user) {
+        if (user == null) return ResponseEntity.status(401).build();
+
+        try {
+            return ResponseEntity.ok(AnalysisJobResponse.from(jobService.getJob(jobId, user.getEmail())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
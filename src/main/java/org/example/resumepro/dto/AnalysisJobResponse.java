@@ -0,0 +1,21 @@
+package org.example.resumepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.resumepro.entity.AnalysisJob;
+
+@Getter
+@AllArgsConstructor
+public class AnalysisJobResponse {
+
+    private Long jobId;
+    private String status;
+    private int attempts;
+    private Long historyId;
+    private String errorMessage;
+
+    public static AnalysisJobResponse from(AnalysisJob job) {
+        return new AnalysisJobResponse(job.getId(), job.getStatus().name(), job.getAttempts(),
+                job.getHistoryId(), job.getErrorMessage());
+    }
+}
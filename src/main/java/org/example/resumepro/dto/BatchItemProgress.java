@@ -0,0 +1,27 @@
+package org.example.resumepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.resumepro.batch.AnalysisBatch;
+
+// 일괄 분석 항목 하나의 상태. /topic/batches/{batchId}로 상태가 바뀔 때마다 발행된다.
+@Getter
+@AllArgsConstructor
+public class BatchItemProgress {
+
+    private String batchId;
+    private int index;
+    private String fileName;
+    private String status;
+    private Long historyId;
+    private String errorMessage;
+    // 배치 전체 진행률 (finished / total), done이면 모든 항목이 끝났다.
+    private int finished;
+    private int total;
+    private boolean done;
+
+    public static BatchItemProgress from(AnalysisBatch batch, AnalysisBatch.Item item) {
+        return new BatchItemProgress(batch.getId(), item.getIndex(), item.getFileName(), item.getStatus().name(),
+                item.getHistoryId(), item.getErrorMessage(), batch.getFinished(), batch.getTotal(), batch.isDone());
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.resumepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.resumepro.batch.AnalysisBatch;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchResponse {
+
+    private String batchId;
+    private int total;
+    private int finished;
+    private boolean done;
+    // 항목 수 상한을 넘어 뒤쪽 항목을 읽지 않았으면 true
+    private boolean truncated;
+    private List<BatchItemProgress> items;
+
+    public static BatchResponse from(AnalysisBatch batch) {
+        List<BatchItemProgress> items = batch.getItems().stream()
+                .map(item -> BatchItemProgress.from(batch, item))
+                .toList();
+        return new BatchResponse(batch.getId(), batch.getTotal(), batch.getFinished(), batch.isDone(),
+                batch.isTruncated(), items);
+    }
+}
@@ -12,4 +12,12 @@ public class ChatMessage {
     private String sender;
     private String content;
 
+    // 스트리밍 답변의 프레임 순번 (0부터), 같은 답변의 조각은 순번대로 이어 붙인다.
+    private int seq;
+    // 답변의 마지막 프레임이면 true
+    private boolean last = true;
+
+    public ChatMessage(String sender, String content) {
+        this(sender, content, 0, true);
+    }
 }
@@ -0,0 +1,22 @@
+package org.example.resumepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.resumepro.entity.ResumeHistory;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class HistoryDetail {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private String userResume;
+    private String aiResponse;
+
+    public static HistoryDetail from(ResumeHistory history) {
+        return new HistoryDetail(history.getId(), history.getCreatedAt(),
+                history.getUserResume(), history.getAiResponse());
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.resumepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class HistoryPage {
+
+    private List<ResumeHistorySummary> items;
+    // 다음 페이지 요청에 그대로 넘길 커서 (마지막 페이지면 null)
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package org.example.resumepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class HistorySearchHit {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    // 검색어 주변 문장 (검색어는 <em>으로 감싸고 나머지는 HTML 이스케이프)
+    private String resumeSnippet;
+    private String analysisSnippet;
+}
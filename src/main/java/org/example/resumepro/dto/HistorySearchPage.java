@@ -0,0 +1,18 @@
+package org.example.resumepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class HistorySearchPage {
+
+    private List<HistorySearchHit> items;
+    private int page;
+    private int size;
+    // 일치하는 전체 건수 (많으면 하한값일 수 있다)
+    private long totalHits;
+    private boolean hasNext;
+}
@@ -0,0 +1,13 @@
+package org.example.resumepro.dto;
+
+import java.time.LocalDateTime;
+
+// 히스토리 목록용 프로젝션 (LONGTEXT 컬럼 제외)
+public interface ResumeHistorySummary {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    String getPreview();
+}
@@ -0,0 +1,70 @@
+package org.example.resumepro.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_analysis_job_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_analysis_job_status_lease", columnList = "status, lease_expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class AnalysisJob {
+
+    public enum Status {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String userEmail;
+
+    @Column(columnDefinition = "LONGTEXT")
+    private String resumeText;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Status status;
+
+    // 시도 횟수 (재시도 백오프 계산용)
+    private int attempts;
+
+    // 이 시각 이후에 워커가 가져간다 (재시도 대기)
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // 실행 중인 노드와 임대 만료 시각. 노드가 주기적으로 연장하며, 만료된 작업만 다른 노드가 다시 대기열로 돌린다.
+    @Column(length = 64)
+    private String owner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // 성공 시 저장된 분석 이력
+    private Long historyId;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+}
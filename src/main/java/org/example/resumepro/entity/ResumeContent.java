@@ -0,0 +1,33 @@
+package org.example.resumepro.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.resumepro.storage.CompressedTextConverter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이력서 본문 저장소. 본문의 SHA-256 해시를 키로 하므로 같은 이력서를 여러 번 분석해도 본문은 한 번만 저장된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ResumeContent {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "LONGBLOB", nullable = false)
+    private String text;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -2,33 +2,108 @@ package org.example.resumepro.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.resumepro.storage.CompressedTextConverter;
 
 import java.time.LocalDateTime;
+import java.util.regex.Pattern;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_resume_history_content_hash", columnList = "content_hash"),
+        // 사용자별 최신순 커서 페이지네이션 (user_email, created_at, id)
+        @Index(name = "idx_resume_history_user_created", columnList = "user_email, created_at, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
 public class ResumeHistory {
 
+    public static final int PREVIEW_LENGTH = 100;
+    public static final int ID_ALLOCATION_SIZE = 50;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // IDENTITY는 INSERT마다 id를 돌려받아야 해서 JDBC 배치가 꺼진다. 풀링된 시퀀스로 id를 미리 할당한다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resume_history_seq")
+    @SequenceGenerator(name = "resume_history_seq", sequenceName = "resume_history_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     // 사용자 식별을 위한 필드 추가
     private String userEmail;
 
-    @Column(columnDefinition = "LONGTEXT")
-    private String userResume;
+    // 이력서 본문 (해시 기준으로 중복 제거, 압축 저장)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "resume_content_hash")
+    private ResumeContent resumeContent;
 
-    @Column(columnDefinition = "LONGTEXT")
+    // AI 분석 결과 (압축 저장)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "ai_response_z", columnDefinition = "LONGBLOB")
     private String aiResponse;
 
+    // 압축 저장 도입 전 컬럼. ResumeStorageBackfill이 옮기고 나면 null이 된다.
+    @Column(name = "user_resume", columnDefinition = "LONGTEXT")
+    private String legacyUserResume;
+
+    @Column(name = "ai_response", columnDefinition = "LONGTEXT")
+    private String legacyAiResponse;
+
+    // 정규화된 이력서 본문 + 시스템 지침 버전의 해시 (분석 결과 캐시 키)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 같은 내용 해시의 다른 요청에 그대로 돌려줘도 되는 결과인지 (DB 기반 분석 캐시 조회 조건).
+    // 빈 응답, 일부 카테고리만 채워진 결과, 사용자의 이전 이력을 참고한 결과는 false. 도입 전 행은 null.
+    private Boolean cacheable;
+
+    // 모든 항목이 채워진 분석인지 (빈 응답, 일부 카테고리만 채워진 결과는 false). 도입 전 행은 null.
+    // cacheable과 달리 이전 이력을 참고한 결과도 true라서, 비슷한 이력서 재사용 조건으로 쓴다.
+    private Boolean complete;
+
+    // 목록 화면용 짧은 미리보기 (목록 조회 시 본문 컬럼을 읽지 않기 위해 따로 저장)
+    @Column(length = PREVIEW_LENGTH)
+    private String preview;
+
     private LocalDateTime createdAt;
 
     @PrePersist
     public void prePersist() {
-        this.createdAt = LocalDateTime.now();
+        // 쓰기 버퍼를 거치면 요청 시점의 시각이 이미 들어 있다.
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.preview == null && getUserResume() != null) {
+            this.preview = previewOf(getUserResume());
+        }
+    }
+
+    public String getUserResume() {
+        return resumeContent != null ? resumeContent.getText() : legacyUserResume;
+    }
+
+    public String getAiResponse() {
+        return aiResponse != null ? aiResponse : legacyAiResponse;
+    }
+
+    // 기존 LONGTEXT 컬럼의 내용을 압축 저장소로 옮긴다 (백필 작업용)
+    public void moveToCompressedStorage(ResumeContent content) {
+        if (content != null) {
+            this.resumeContent = content;
+        }
+        if (this.aiResponse == null) {
+            this.aiResponse = this.legacyAiResponse;
+        }
+        if (this.preview == null && getUserResume() != null) {
+            this.preview = previewOf(getUserResume());
+        }
+        this.legacyUserResume = null;
+        this.legacyAiResponse = null;
+    }
+
+    public static String previewOf(String text) {
+        String compact = WHITESPACE.matcher(text.strip()).replaceAll(" ");
+        return compact.length() > PREVIEW_LENGTH ? compact.substring(0, PREVIEW_LENGTH) : compact;
     }
 }
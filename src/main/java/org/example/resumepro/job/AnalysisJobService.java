@@ -0,0 +1,35 @@
+package org.example.resumepro.job;
+
+import lombok.RequiredArgsConstructor;
+import org.example.resumepro.entity.AnalysisJob;
+import org.example.resumepro.repository.AnalysisJobRepository;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobService {
+
+    private final AnalysisJobRepository jobRepository;
+
+    // 작업을 대기열(DB)에 넣고 바로 반환한다. 실제 분석은 AnalysisJobWorker가 수행한다.
+    public AnalysisJob submit(String resumeText, String userEmail) {
+        if (resumeText == null || resumeText.trim().isEmpty()) {
+            throw new IllegalArgumentException("분석할 내용이 없습니다.");
+        }
+        AnalysisJob job = AnalysisJob.builder()
+                .userEmail(userEmail)
+                .resumeText(resumeText)
+                .status(AnalysisJob.Status.PENDING)
+                .build();
+        return jobRepository.save(job);
+    }
+
+    public AnalysisJob getJob(Long jobId, String userEmail) {
+        AnalysisJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("작업을 찾을 수 없습니다."));
+        if (!job.getUserEmail().equals(userEmail)) {
+            throw new IllegalArgumentException("작업을 찾을 수 없습니다.");
+        }
+        return job;
+    }
+}
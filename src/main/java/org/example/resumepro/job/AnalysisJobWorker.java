@@ -0,0 +1,222 @@
+package org.example.resumepro.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.ai.LlmErrors;
+import org.example.resumepro.dto.AnalysisJobResponse;
+import org.example.resumepro.entity.AnalysisJob;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.AnalysisJobRepository;
+import org.example.resumepro.service.AiService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 분석 작업 큐의 워커. DB의 대기(PENDING) 작업을 주기적으로 가져와 실행하며,
+ * 동시에 LLM으로 나가는 작업 수는 max-in-flight로 제한한다.
+ * 429/5xx 같은 일시적 오류는 지수 백오프로 다시 대기열에 넣고, 상태 변화는 /topic/jobs/{jobId}로 알린다.
+ * 가져간 작업은 이 노드 이름으로 lease 동안 임대하고 heartbeat-interval마다 연장한다.
+ * 임대가 만료된 작업만 다시 대기열로 돌리므로, 여러 노드가 떠 있어도 다른 노드가 실행 중인 작업은 건드리지 않는다.
+ * 결과도 아직 임대 중일 때만 기록한다 (임대를 잃은 뒤 끝난 실행의 결과는 버린다).
+ */
+@Slf4j
+@Component
+public class AnalysisJobWorker {
+
+    private final AnalysisJobRepository jobRepository;
+    private final AiService aiService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final String owner;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final Semaphore inFlight;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer queueWait;
+    private final Timer succeeded;
+    private final Timer failed;
+    private final Counter retries;
+
+    public AnalysisJobWorker(AnalysisJobRepository jobRepository, AiService aiService,
+                             SimpMessagingTemplate messagingTemplate,
+                             @Value("${resumepro.jobs.max-in-flight:8}") int maxInFlight,
+                             @Value("${resumepro.jobs.max-attempts:5}") int maxAttempts,
+                             @Value("${resumepro.jobs.base-backoff:2s}") Duration baseBackoff,
+                             @Value("${resumepro.jobs.max-backoff:5m}") Duration maxBackoff,
+                             @Value("${resumepro.jobs.lease:2m}") Duration lease,
+                             MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.aiService = aiService;
+        this.messagingTemplate = messagingTemplate;
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        // 재시작하면 새 이름이 되므로, 죽기 전에 실행하던 작업은 임대가 만료된 뒤 다시 실행된다.
+        this.owner = UUID.randomUUID().toString();
+        this.inFlight = new Semaphore(maxInFlight);
+
+        Gauge.builder("resumepro.jobs.queue.depth", queueDepth, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("resumepro.jobs.in.flight", inFlight, s -> this.maxInFlight - s.availablePermits())
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("resumepro.jobs.queue.wait").register(meterRegistry);
+        this.succeeded = Timer.builder("resumepro.jobs.execution").tag("outcome", "succeeded").register(meterRegistry);
+        this.failed = Timer.builder("resumepro.jobs.execution").tag("outcome", "failed").register(meterRegistry);
+        this.retries = Counter.builder("resumepro.jobs.retries").register(meterRegistry);
+    }
+
+    // 임대가 만료된 실행 중 작업(실행하던 노드가 죽었거나 멈춤)은 결과가 저장되지 않았으므로 다시 대기열로 돌린다.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${resumepro.jobs.heartbeat-interval:30000}")
+    public void recover() {
+        int requeued = jobRepository.requeueExpired(LocalDateTime.now());
+        if (requeued > 0) {
+            log.warn("임대가 만료된 분석 작업 {}건을 다시 대기열에 넣었습니다.", requeued);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${resumepro.jobs.heartbeat-interval:30000}")
+    public void heartbeat() {
+        if (running.isEmpty()) return;
+        jobRepository.renewLeases(List.copyOf(running), owner, LocalDateTime.now().plus(lease));
+    }
+
+    @Scheduled(fixedDelayString = "${resumepro.jobs.poll-interval:500}")
+    public void poll() {
+        queueDepth.set(jobRepository.countByStatus(AnalysisJob.Status.PENDING));
+
+        int free = inFlight.availablePermits();
+        if (free == 0) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AnalysisJob> due = jobRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                AnalysisJob.Status.PENDING, now, Limit.of(free));
+
+        for (AnalysisJob job : due) {
+            if (!inFlight.tryAcquire()) break;
+            if (jobRepository.claim(job.getId(), now, owner, now.plus(lease)) == 0) {
+                inFlight.release();
+                continue;
+            }
+            running.add(job.getId());
+            executor.execute(() -> {
+                try {
+                    run(job.getId());
+                } finally {
+                    running.remove(job.getId());
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void run(Long jobId) {
+        boolean saved = false;
+        try {
+            AnalysisJob job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getAttempts() == 1) {
+                queueWait.record(Duration.between(job.getCreatedAt(), job.getStartedAt()));
+            }
+            publish(job);
+
+            long start = System.nanoTime();
+            try {
+                ResumeHistory history = aiService.analyzeAndSave(job.getResumeText(), job.getUserEmail());
+                succeeded.record(Duration.ofNanos(System.nanoTime() - start));
+
+                job.setStatus(AnalysisJob.Status.SUCCEEDED);
+                job.setHistoryId(history.getId());
+                job.setErrorMessage(null);
+                job.setFinishedAt(LocalDateTime.now());
+            } catch (Exception e) {
+                failed.record(Duration.ofNanos(System.nanoTime() - start));
+
+                job.setErrorMessage(truncate(e.getMessage()));
+                if (LlmErrors.isRetryable(e) && job.getAttempts() < maxAttempts) {
+                    retries.increment();
+                    job.setStatus(AnalysisJob.Status.PENDING);
+                    job.setNextAttemptAt(LocalDateTime.now().plus(backoff(job.getAttempts())));
+                } else {
+                    job.setStatus(AnalysisJob.Status.FAILED);
+                    job.setFinishedAt(LocalDateTime.now());
+                }
+            }
+
+            job.setOwner(null);
+            job.setLeaseExpiresAt(null);
+            // 멈춰 있는 동안 임대가 만료되어 다른 노드가 다시 가져갔으면 그 노드의 상태를 덮어쓰지 않는다.
+            int updated = jobRepository.finish(jobId, owner, job.getStatus(), job.getHistoryId(), job.getErrorMessage(),
+                    job.getNextAttemptAt(), job.getFinishedAt());
+            saved = true;
+            if (updated == 0) {
+                log.warn("분석 작업 {}의 임대를 잃어 결과를 기록하지 않았습니다.", jobId);
+                return;
+            }
+            publish(job);
+        } finally {
+            // 상태를 저장하기 전에 실패하면(조회/저장 오류 등) RUNNING으로 남지 않도록 실패로 표시한다.
+            if (!saved) {
+                markFailed(jobId);
+            }
+        }
+    }
+
+    private void markFailed(Long jobId) {
+        try {
+            jobRepository.markFailed(jobId, owner, "작업 상태를 저장하지 못했습니다.", LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // 여기서도 실패하면 임대 만료 후 다시 대기열로 돌아간다.
+            log.error("분석 작업 {} 실패 표시 실패", jobId, e);
+        }
+    }
+
+    // base * 2^(attempts-1), 최대 maxBackoff, ±20% 지터
+    private Duration backoff(int attempts) {
+        long exponential = baseBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(exponential, maxBackoff.toMillis());
+        double jitter = ThreadLocalRandom.current().nextDouble(0.8, 1.2);
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    private void publish(AnalysisJob job) {
+        messagingTemplate.convertAndSend("/topic/jobs/" + job.getId(), AnalysisJobResponse.from(job));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,255 @@
+package org.example.resumepro.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.service.AiService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메일 발송 큐. 요청 스레드는 큐에 넣고 바로 돌아가며, 워커마다 SMTP 연결(Transport)을 하나씩 열어 두고
+ * 여러 통을 같은 연결로 보낸다 (메일마다 연결/인증을 다시 하지 않는다). 유휴 시간이 지나면 연결을 닫는다.
+ * 일시적인 SMTP 오류는 지수 백오프로 재시도하고, 주소 자체가 잘못된 경우는 바로 포기한다.
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private final JavaMailSenderImpl mailSender;
+    private final AiService aiService;
+    private final DelayQueue<OutboundMail> queue = new DelayQueue<>();
+    private final int capacity;
+    private final int connections;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration idleTimeout;
+    private final String from;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter retries;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+
+    public MailDispatcher(JavaMailSenderImpl mailSender, AiService aiService,
+                          @Value("${resumepro.mail.queue-capacity:1000}") int capacity,
+                          @Value("${resumepro.mail.connections:2}") int connections,
+                          @Value("${resumepro.mail.batch-size:20}") int batchSize,
+                          @Value("${resumepro.mail.max-attempts:5}") int maxAttempts,
+                          @Value("${resumepro.mail.base-backoff:2s}") Duration baseBackoff,
+                          @Value("${resumepro.mail.idle-timeout:30s}") Duration idleTimeout,
+                          @Value("${resumepro.mail.from:}") String from,
+                          MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.aiService = aiService;
+        this.capacity = capacity;
+        this.connections = connections;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.idleTimeout = idleTimeout;
+        this.from = from;
+
+        Gauge.builder("resumepro.mail.queue.size", queue, DelayQueue::size).register(meterRegistry);
+        this.sent = Counter.builder("resumepro.mail.sent").register(meterRegistry);
+        this.failed = Counter.builder("resumepro.mail.failed").register(meterRegistry);
+        this.retries = Counter.builder("resumepro.mail.retries").register(meterRegistry);
+        this.batchTimer = Timer.builder("resumepro.mail.batch").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("resumepro.mail.batch.size").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < connections; i++) {
+            Thread worker = new Thread(this::workLoop, "mail-sender-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * 리포트 메일 발송을 예약한다. historyId가 있으면 해당 분석의 PDF를 첨부한다 (소유권 확인은 호출자 몫).
+     * 큐가 가득 차면 IllegalStateException.
+     */
+    public void enqueueReport(String to, String content, Long historyId) {
+        if (queue.size() >= capacity) {
+            throw new IllegalStateException("메일 발송 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+        queue.put(OutboundMail.of(to, ReportMailTemplate.SUBJECT, content, historyId));
+    }
+
+    private void workLoop() {
+        Transport transport = null;
+        long lastUsed = System.nanoTime();
+        List<OutboundMail> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                OutboundMail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    if (System.nanoTime() - lastUsed > idleTimeout.toNanos()) {
+                        transport = close(transport);
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                transport = sendBatch(transport, batch);
+                batch.clear();
+                lastUsed = System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    private Transport sendBatch(Transport transport, List<OutboundMail> batch) {
+        long start = System.nanoTime();
+        try {
+            transport = connect(transport);
+        } catch (MessagingException e) {
+            log.warn("SMTP 연결 실패: {}", e.getMessage());
+            batch.forEach(mail -> retryOrGiveUp(mail, e));
+            return close(transport);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            OutboundMail mail = batch.get(i);
+            try {
+                MimeMessage message = build(mail);
+                transport.sendMessage(message, message.getAllRecipients());
+                sent.increment();
+            } catch (MessagingException e) {
+                retryOrGiveUp(mail, e);
+                if (!transport.isConnected()) {
+                    transport = close(transport);
+                    try {
+                        transport = connect(null);
+                    } catch (MessagingException reconnect) {
+                        // 연결 없이 남은 메일을 보낼 수 없으므로 모두 백오프 뒤 재시도로 돌린다.
+                        log.warn("SMTP 재연결 실패: {}", reconnect.getMessage());
+                        batch.subList(i + 1, batch.size()).forEach(rest -> retryOrGiveUp(rest, reconnect));
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // 첨부 PDF를 만들 수 없는 경우 등, 재시도해도 결과가 같다.
+                failed.increment();
+                log.error("메일 작성 실패: to={}", mail.to(), e);
+            }
+        }
+
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        batchSizes.record(batch.size());
+        return transport;
+    }
+
+    private MimeMessage build(OutboundMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, mail.historyId() != null, StandardCharsets.UTF_8.name());
+        if (StringUtils.hasText(from)) {
+            helper.setFrom(from);
+        }
+        helper.setTo(mail.to());
+        helper.setSubject(mail.subject());
+        helper.setText(mail.content(), ReportMailTemplate.html(mail.content()));
+        if (mail.historyId() != null) {
+            // PdfReportService 캐시를 거치므로 같은 리포트를 여러 번 보내도 렌더링은 한 번이다.
+            byte[] pdf = aiService.generatePdf(mail.historyId());
+            helper.addAttachment("resume-report-" + mail.historyId() + ".pdf", new ByteArrayResource(pdf), "application/pdf");
+        }
+        message.saveChanges();
+        return message;
+    }
+
+    private Transport connect(Transport transport) throws MessagingException {
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        Transport connected = mailSender.getSession().getTransport(protocol);
+        connected.connect(mailSender.getHost(), mailSender.getPort(),
+                emptyToNull(mailSender.getUsername()), emptyToNull(mailSender.getPassword()));
+        return connected;
+    }
+
+    private Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("SMTP 연결 종료 중 오류: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void retryOrGiveUp(OutboundMail mail, MessagingException e) {
+        if (isPermanent(e) || mail.attempt() + 1 >= maxAttempts) {
+            failed.increment();
+            log.error("메일 발송 실패: to={}, attempts={}", mail.to(), mail.attempt() + 1, e);
+            return;
+        }
+        retries.increment();
+        queue.put(mail.retryAfter(backoff(mail.attempt() + 1).toNanos()));
+    }
+
+    // 유효한 수신자가 하나도 없으면 재시도해도 소용없다.
+    private boolean isPermanent(MessagingException e) {
+        if (!(e instanceof SendFailedException failedSend)) {
+            return false;
+        }
+        Address[] invalid = failedSend.getInvalidAddresses();
+        Address[] validUnsent = failedSend.getValidUnsentAddresses();
+        return invalid != null && invalid.length > 0 && (validUnsent == null || validUnsent.length == 0);
+    }
+
+    private Duration backoff(int attempts) {
+        long exponential = baseBackoff.toMillis() << Math.min(attempts - 1, 20);
+        double jitter = ThreadLocalRandom.current().nextDouble(0.8, 1.2);
+        return Duration.ofMillis((long) (exponential * jitter));
+    }
+
+    private static String emptyToNull(String value) {
+        return StringUtils.hasLength(value) ? value : null;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (!queue.isEmpty()) {
+            log.warn("발송하지 못한 메일 {}건이 남아 있습니다.", queue.size());
+        }
+    }
+}
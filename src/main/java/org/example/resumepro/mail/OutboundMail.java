@@ -0,0 +1,30 @@
+package org.example.resumepro.mail;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 발송 대기 중인 메일 한 통. notBefore(System.nanoTime 기준) 이전에는 큐에서 꺼내지지 않으므로
+ * 재시도 백오프는 notBefore를 미룬 사본을 다시 넣는 것으로 처리한다.
+ */
+record OutboundMail(String to, String subject, String content, Long historyId,
+                    int attempt, long notBefore) implements Delayed {
+
+    static OutboundMail of(String to, String subject, String content, Long historyId) {
+        return new OutboundMail(to, subject, content, historyId, 0, System.nanoTime());
+    }
+
+    OutboundMail retryAfter(long delayNanos) {
+        return new OutboundMail(to, subject, content, historyId, attempt + 1, System.nanoTime() + delayNanos);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(notBefore - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
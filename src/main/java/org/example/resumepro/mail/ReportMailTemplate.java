@@ -0,0 +1,51 @@
+package org.example.resumepro.mail;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.regex.Pattern;
+
+/**
+ * 분석 리포트 메일 본문. 분석 결과는 마크다운 없이 [제목]과 줄바꿈으로 구성되므로
+ * [..]로 시작하는 줄은 소제목으로, 나머지 줄은 문단으로 감싼다.
+ */
+final class ReportMailTemplate {
+
+    static final String SUBJECT = "[AI 이력서 분석] 검토 리포트 결과입니다.";
+
+    private static final Pattern LINE_BREAK = Pattern.compile("\\r?\\n");
+
+    private static final String HEADER = """
+            <!DOCTYPE html>
+            <html lang="ko">
+            <head><meta charset="UTF-8"></head>
+            <body style="margin:0;padding:24px;background:#f5f6f8;font-family:'Malgun Gothic','Apple SD Gothic Neo',sans-serif;">
+            <div style="max-width:640px;margin:0 auto;background:#ffffff;border-radius:8px;padding:32px;color:#222;line-height:1.7;">
+            <h1 style="font-size:20px;margin:0 0 24px;">AI 이력서 분석 리포트</h1>
+            """;
+
+    private static final String FOOTER = """
+            <p style="margin-top:32px;font-size:12px;color:#888;">본 메일은 ResumePro에서 발송되었습니다.</p>
+            </div>
+            </body>
+            </html>
+            """;
+
+    private ReportMailTemplate() {
+    }
+
+    static String html(String content) {
+        StringBuilder html = new StringBuilder(HEADER.length() + FOOTER.length() + content.length() * 2);
+        html.append(HEADER);
+        for (String line : LINE_BREAK.split(content)) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) continue;
+            String escaped = HtmlUtils.htmlEscape(trimmed);
+            if (trimmed.startsWith("[")) {
+                html.append("<h2 style=\"font-size:16px;margin:24px 0 8px;color:#2b5cd9;\">").append(escaped).append("</h2>\n");
+            } else {
+                html.append("<p style=\"margin:0 0 6px;\">").append(escaped).append("</p>\n");
+            }
+        }
+        return html.append(FOOTER).toString();
+    }
+}
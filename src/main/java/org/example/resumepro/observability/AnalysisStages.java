@@ -0,0 +1,43 @@
+package org.example.resumepro.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 분석 파이프라인 단계(extract, prompt, cache, llm, clean, save, pdf)별 관측.
+ * Observation 하나로 타이머(resumepro.analysis.stage{stage=...})와 트레이싱 span을 함께 만들며,
+ * 현재 요청의 observation(http.server.requests) 아래에 자식 span으로 붙어 한 번의 업로드가 단계별로 이어진다.
+ */
+@Component
+public class AnalysisStages {
+
+    public static final String METRIC = "resumepro.analysis.stage";
+
+    private final ObservationRegistry registry;
+
+    public AnalysisStages(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T observe(String stage, Supplier<T> work) {
+        return create(stage).observe(work);
+    }
+
+    public void observe(String stage, Runnable work) {
+        create(stage).observe(work);
+    }
+
+    // 비동기 단계용: 호출자가 stop()(실패 시 error() 후 stop())을 호출해야 한다.
+    public Observation start(String stage) {
+        return create(stage).start();
+    }
+
+    private Observation create(String stage) {
+        return Observation.createNotStarted(METRIC, registry)
+                .contextualName("analysis." + stage)
+                .lowCardinalityKeyValue("stage", stage);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.resumepro.pdf;
+
+// 업로드 문서에서 텍스트를 추출하지 못한 경우 (메시지는 사용자에게 그대로 보여준다)
+public class DocumentExtractionException extends RuntimeException {
+
+    public DocumentExtractionException(String message) {
+        super(message);
+    }
+
+    public DocumentExtractionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.resumepro.pdf;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.sax.BodyContentHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 문서 텍스트 추출기.
+ * PDF는 PDFBox의 MemoryUsageSetting으로 힙 사용량을 제한하고(초과분은 임시 파일),
+ * 페이지 단위로 읽으면서 최대 페이지/글자 수에서 멈춘다. PDF가 아닌 문서(DOCX, HWP 등)는 Tika로 읽되
+ * 본문 핸들러의 쓰기 한도로 최대 글자 수에서 멈춘다.
+ * 추출은 전용 고정 크기 풀에서 타임아웃을 두고 실행되며, 대기열이 가득 차면 바로 거절한다.
+ */
+@Component
+public class DocumentTextExtractor {
+
+    private final long maxMainMemoryBytes;
+    private final int maxPages;
+    private final int maxChars;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+    // 스레드 안전하며, 만들 때 파서 목록을 읽으므로 한 번만 만든다.
+    private final AutoDetectParser tikaParser = new AutoDetectParser();
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary allocatedBytes;
+    private final DistributionSummary extractedChars;
+
+    public DocumentTextExtractor(@Value("${resumepro.extraction.max-main-memory-bytes:16777216}") long maxMainMemoryBytes,
+                                 @Value("${resumepro.extraction.max-pages:30}") int maxPages,
+                                 @Value("${resumepro.extraction.max-chars:50000}") int maxChars,
+                                 @Value("${resumepro.extraction.timeout:20s}") Duration timeout,
+                                 @Value("${resumepro.extraction.threads:0}") int threads,
+                                 @Value("${resumepro.extraction.queue-capacity:32}") int queueCapacity,
+                                 MeterRegistry meterRegistry) {
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.maxPages = maxPages;
+        this.maxChars = maxChars;
+        this.timeoutMillis = timeout.toMillis();
+
+        // 추출은 CPU 작업이므로 기본값은 코어 수
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "doc-extract-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.meterRegistry = meterRegistry;
+        this.allocatedBytes = DistributionSummary.builder("resumepro.extraction.allocated")
+                .baseUnit("bytes").register(meterRegistry);
+        this.extractedChars = DistributionSummary.builder("resumepro.extraction.chars").register(meterRegistry);
+    }
+
+    public String extract(MultipartFile file) {
+        Future<String> future;
+        try {
+            future = executor.submit(() -> extractMeasured(file));
+        } catch (RejectedExecutionException e) {
+            throw new DocumentExtractionException("업로드 요청이 많습니다. 잠시 후 다시 시도해주세요.", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DocumentExtractionException("문서 처리 시간이 초과되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DocumentExtractionException extraction) throw extraction;
+            throw new DocumentExtractionException("문서에서 내용을 읽을 수 없습니다.", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DocumentExtractionException("문서 처리가 중단되었습니다.", e);
+        }
+    }
+
+    private String extractMeasured(MultipartFile file) throws IOException {
+        boolean pdf = isPdf(file);
+        long allocatedBefore = currentThreadAllocatedBytes();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            String text = pdf ? extractPdf(file) : extractWithTika(file);
+            extractedChars.record(text.length());
+            return text;
+        } finally {
+            sample.stop(Timer.builder("resumepro.extraction.duration")
+                    .tag("format", pdf ? "pdf" : "tika")
+                    .register(meterRegistry));
+            long allocatedAfter = currentThreadAllocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                allocatedBytes.record(allocatedAfter - allocatedBefore);
+            }
+        }
+    }
+
+    private String extractPdf(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream();
+             PDDocument document = PDDocument.load(in, MemoryUsageSetting.setupMixed(maxMainMemoryBytes))) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            StringBuilder text = new StringBuilder();
+            int pages = Math.min(document.getNumberOfPages(), maxPages);
+
+            for (int page = 1; page <= pages && text.length() < maxChars; page++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new DocumentExtractionException("문서 처리가 중단되었습니다.");
+                }
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                // 쪽 경계를 남겨 PromptBuilder가 반복되는 머리글/바닥글을 찾을 수 있게 한다.
+                text.append(stripper.getText(document)).append('\f');
+            }
+            return truncate(text);
+        }
+    }
+
+    // 본문 핸들러에 쓰기 한도(maxChars)를 두어, 압축된 문서(DOCX 등)가 크게 풀려도 한도까지만 메모리에 담는다.
+    private String extractWithTika(MultipartFile file) throws IOException {
+        BodyContentHandler handler = new BodyContentHandler(maxChars);
+        Metadata metadata = new Metadata();
+        if (file.getOriginalFilename() != null) {
+            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, file.getOriginalFilename());
+        }
+        try (InputStream in = TikaInputStream.get(file.getInputStream())) {
+            tikaParser.parse(in, handler, metadata, new ParseContext());
+        } catch (SAXException | TikaException e) {
+            // 한도에 닿으면 파싱을 멈춘다. 그때까지 읽은 본문은 잘린 결과로 쓴다.
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                throw new DocumentExtractionException("문서에서 내용을 읽을 수 없습니다.", e);
+            }
+        }
+        return handler.toString();
+    }
+
+    private String truncate(StringBuilder text) {
+        return text.length() > maxChars ? text.substring(0, maxChars) : text.toString();
+    }
+
+    private static boolean isPdf(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return "application/pdf".equals(file.getContentType())
+                || (name != null && name.toLowerCase(Locale.ROOT).endsWith(".pdf"));
+    }
+
+    // 추출 1건이 스레드에서 할당한 힙 바이트 (지원하지 않는 JVM이면 -1)
+    private static long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
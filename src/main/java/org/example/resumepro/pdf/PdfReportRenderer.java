@@ -0,0 +1,97 @@
+package org.example.resumepro.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfWriter;
+import org.example.resumepro.util.MarkdownCleaner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분석 리포트 PDF 렌더러.
+ * 한글 폰트는 애플리케이션 시작 시 한 번만 읽어 BaseFont/Font를 만들고 모든 요청에서 공유한다.
+ * (BaseFont는 렌더링 중 읽기 전용이고, 문서별 서브셋 정보는 각 PdfWriter가 따로 관리한다.)
+ */
+@Component
+public class PdfReportRenderer {
+
+    // 클래스패스 폰트가 없을 때 시도할 OS 기본 한글 폰트
+    static final List<String> SYSTEM_FONT_FALLBACKS = List.of(
+            "c:/Windows/Fonts/malgun.ttf",
+            "/usr/share/fonts/truetype/nanum/NanumGothic.ttf",
+            "/System/Library/Fonts/Supplemental/AppleGothic.ttf"
+    );
+
+    private final Font titleFont;
+    private final Font contentFont;
+
+    public PdfReportRenderer(ResourceLoader resourceLoader,
+                             @Value("${resumepro.pdf.font-location:classpath:fonts/NanumGothic.ttf}") String fontLocation) {
+        BaseFont baseFont = loadBaseFont(resourceLoader, fontLocation);
+        this.titleFont = baseFont != null ? new Font(baseFont, 20, Font.BOLD) : null;
+        this.contentFont = baseFont != null ? new Font(baseFont, 11, Font.NORMAL) : null;
+    }
+
+    // 한글 폰트를 찾았는지 (없으면 render가 실패한다)
+    public boolean isAvailable() {
+        return contentFont != null;
+    }
+
+    public void render(LocalDateTime createdAt, String aiResponse, OutputStream out) {
+        if (contentFont == null) {
+            throw new IllegalStateException("PDF용 한글 폰트를 찾을 수 없습니다. resumepro.pdf.font-location을 확인하세요.");
+        }
+
+        Document document = new Document(PageSize.A4, 50, 50, 50, 50);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            document.add(new Paragraph("사용자님의 AI 이력서 분석 리포트", titleFont));
+            document.add(new Paragraph("분석 일시: " + createdAt, contentFont));
+            document.add(new Paragraph("\n" + "-".repeat(60) + "\n\n"));
+
+            // PDF 생성 시에도 기호 제거 확인
+            Paragraph resultPara = new Paragraph(MarkdownCleaner.stripSymbols(aiResponse), contentFont);
+            resultPara.setLeading(18f);
+            document.add(resultPara);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+    }
+
+    // IDENTITY_H + EMBEDDED: 문서에 실제로 쓰인 글자만 서브셋으로 임베드된다.
+    private static BaseFont loadBaseFont(ResourceLoader resourceLoader, String fontLocation) {
+        try {
+            Resource resource = resourceLoader.getResource(fontLocation);
+            if (resource.exists()) {
+                try (InputStream in = resource.getInputStream()) {
+                    return BaseFont.createFont("resumepro-korean.ttf", BaseFont.IDENTITY_H, BaseFont.EMBEDDED,
+                            true, in.readAllBytes(), null);
+                }
+            }
+            for (String fallback : SYSTEM_FONT_FALLBACKS) {
+                if (Files.exists(Path.of(fallback))) {
+                    return BaseFont.createFont(fallback, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            throw new IllegalStateException("PDF용 한글 폰트를 불러오지 못했습니다: " + fontLocation, e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.resumepro.pdf;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.observability.AnalysisStages;
+import org.example.resumepro.repository.ResumeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * historyId별로 렌더링된 PDF 바이트를 캐시한다 (전체 바이트 수 기준 상한).
+ * 분석 이력은 저장 후 바뀌지 않고 애플리케이션에 이력 삭제 경로도 없으므로 따로 무효화하지 않는다.
+ * 대신 만료를 마지막 접근이 아니라 렌더링 시점 기준(ttl)으로 두어, DB에서 행이 지워져도 ttl 뒤에는 더 내보내지 않는다.
+ */
+@Service
+public class PdfReportService {
+
+    private final ResumeRepository resumeRepository;
+    private final PdfReportRenderer renderer;
+    private final Cache<Long, byte[]> rendered;
+    private final AnalysisStages stages;
+
+    public PdfReportService(ResumeRepository resumeRepository, PdfReportRenderer renderer,
+                            @Value("${resumepro.pdf.cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${resumepro.pdf.cache.ttl:1h}") Duration ttl,
+                            MeterRegistry meterRegistry, AnalysisStages stages) {
+        this.resumeRepository = resumeRepository;
+        this.renderer = renderer;
+        this.rendered = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, byte[] pdf) -> pdf.length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rendered, "pdfReports");
+        this.stages = stages;
+    }
+
+    public byte[] getReport(Long historyId) {
+        return rendered.get(historyId, id -> {
+            ResumeHistory history = findHistory(id);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            stages.observe("pdf", () -> renderer.render(history.getCreatedAt(), history.getAiResponse(), out));
+            return out.toByteArray();
+        });
+    }
+
+    // 한글 폰트가 있어 리포트를 만들 수 있는지
+    public boolean isAvailable() {
+        return renderer.isAvailable();
+    }
+
+    /**
+     * userEmail 본인의 이력. 응답을 보내기 전에 찾아 두고 writeReport에 넘긴다.
+     */
+    public Optional<ResumeHistory> findOwnedHistory(Long historyId, String userEmail) {
+        return resumeRepository.findByIdAndUserEmail(historyId, userEmail);
+    }
+
+    /**
+     * 응답 스트림에 바로 쓴다. 캐시에 있으면 그대로 복사하고, 없으면 렌더링하면서 동시에 캐시용 사본을 남긴다.
+     * 이력 조회와 폰트 확인은 호출자가 응답 헤더를 보내기 전에 끝내야 한다 (여기서 실패하면 응답이 잘린다).
+     */
+    public void writeReport(ResumeHistory history, OutputStream out) throws IOException {
+        byte[] cached = rendered.getIfPresent(history.getId());
+        if (cached != null) {
+            out.write(cached);
+            return;
+        }
+
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        stages.observe("pdf", () -> renderer.render(history.getCreatedAt(), history.getAiResponse(),
+                new TeeOutputStream(out, copy)));
+        rendered.put(history.getId(), copy.toByteArray());
+    }
+
+    private ResumeHistory findHistory(Long historyId) {
+        return resumeRepository.findById(historyId)
+                .orElseThrow(() -> new RuntimeException("내역을 찾을 수 없습니다."));
+    }
+
+    // 응답 스트림과 캐시 버퍼에 동시에 쓰는 스트림 (응답 스트림 close는 컨테이너가 담당)
+    private static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream primary;
+        private final OutputStream copy;
+
+        private TeeOutputStream(OutputStream primary, OutputStream copy) {
+            this.primary = primary;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            primary.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            primary.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            primary.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
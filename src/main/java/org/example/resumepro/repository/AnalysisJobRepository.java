@@ -0,0 +1,72 @@
+package org.example.resumepro.repository;
+
+import org.example.resumepro.entity.AnalysisJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, Long> {
+
+    // 실행할 차례가 된 대기 작업 (오래된 순)
+    List<AnalysisJob> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            AnalysisJob.Status status, LocalDateTime now, Limit limit);
+
+    long countByStatus(AnalysisJob.Status status);
+
+    // 대기 → 실행 전환 (owner 노드가 leaseExpiresAt까지 임대). 다른 워커가 먼저 가져갔으면 0을 반환한다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update AnalysisJob j set j.status = org.example.resumepro.entity.AnalysisJob.Status.RUNNING, " +
+            "j.startedAt = :now, j.attempts = j.attempts + 1, j.owner = :owner, j.leaseExpiresAt = :leaseExpiresAt " +
+            "where j.id = :id and j.status = org.example.resumepro.entity.AnalysisJob.Status.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now,
+              @Param("owner") String owner, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // 이 노드가 실행 중인 작업의 임대를 연장한다 (heartbeat).
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.leaseExpiresAt = :leaseExpiresAt " +
+            "where j.id in :ids and j.owner = :owner " +
+            "and j.status = org.example.resumepro.entity.AnalysisJob.Status.RUNNING")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // 임대가 만료된(실행하던 노드가 죽거나 멈춘) 실행 중 작업을 다시 대기열로 돌린다.
+    // 임대 컬럼 도입 전에 실행 중이던 작업(leaseExpiresAt이 없음)도 만료된 것으로 본다.
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.status = org.example.resumepro.entity.AnalysisJob.Status.PENDING, " +
+            "j.owner = null, j.leaseExpiresAt = null " +
+            "where j.status = org.example.resumepro.entity.AnalysisJob.Status.RUNNING " +
+            "and (j.leaseExpiresAt is null or j.leaseExpiresAt < :now)")
+    int requeueExpired(@Param("now") LocalDateTime now);
+
+    // 실행 결과(성공, 재시도 대기, 실패)를 기록하고 임대를 푼다 (이 노드가 아직 임대 중일 때만).
+    // 임대가 만료되어 다른 노드가 가져간 작업이면 0을 반환하고 아무것도 덮어쓰지 않는다.
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.status = :status, j.historyId = :historyId, j.errorMessage = :errorMessage, " +
+            "j.nextAttemptAt = :nextAttemptAt, j.finishedAt = :finishedAt, j.owner = null, j.leaseExpiresAt = null " +
+            "where j.id = :id and j.owner = :owner " +
+            "and j.status = org.example.resumepro.entity.AnalysisJob.Status.RUNNING")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") AnalysisJob.Status status,
+               @Param("historyId") Long historyId, @Param("errorMessage") String errorMessage,
+               @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("finishedAt") LocalDateTime finishedAt);
+
+    // 결과를 저장하지 못하고 끝난 실행을 실패로 표시한다 (이 노드가 아직 임대 중일 때만).
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.status = org.example.resumepro.entity.AnalysisJob.Status.FAILED, " +
+            "j.errorMessage = :errorMessage, j.finishedAt = :now, j.owner = null, j.leaseExpiresAt = null " +
+            "where j.id = :id and j.owner = :owner " +
+            "and j.status = org.example.resumepro.entity.AnalysisJob.Status.RUNNING")
+    int markFailed(@Param("id") Long id, @Param("owner") String owner,
+                   @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,7 @@
+package org.example.resumepro.repository;
+
+import org.example.resumepro.entity.ResumeContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ResumeContentRepository extends JpaRepository<ResumeContent, String> {
+}
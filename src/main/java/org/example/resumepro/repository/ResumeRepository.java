@@ -1,11 +1,62 @@
 package org.example.resumepro.repository;
 
+import org.example.resumepro.dto.ResumeHistorySummary;
 import org.example.resumepro.entity.ResumeHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ResumeRepository extends JpaRepository<ResumeHistory, Long> {
     // 최신순 정렬 조회 메서드
     List<ResumeHistory> findAllByOrderByCreatedAtDesc();
     // 특정 사용자의 이메일로 작성된 히스토리만 최신순으로 가져오기
-    List<ResumeHistory> findByUserEmailOrderByCreatedAtDesc(String userEmail);}
+    List<ResumeHistory> findByUserEmailOrderByCreatedAtDesc(String userEmail);
+    // 같은 내용 해시로 저장된 가장 최근의 캐시 가능한 분석 결과 (DB 기반 분석 캐시)
+    Optional<ResumeHistory> findFirstByContentHashAndCacheableTrueOrderByCreatedAtDesc(String contentHash);
+
+    // 히스토리 목록 첫 페이지 (미리보기만, 최신순)
+    @Query("select h.id as id, h.createdAt as createdAt, h.preview as preview from ResumeHistory h " +
+            "where h.userEmail = :userEmail order by h.createdAt desc, h.id desc")
+    List<ResumeHistorySummary> findSummaries(@Param("userEmail") String userEmail, Limit limit);
+
+    // 히스토리 목록 다음 페이지: (createdAt, id) 커서보다 오래된 항목 (idx_resume_history_user_created 사용)
+    @Query("select h.id as id, h.createdAt as createdAt, h.preview as preview from ResumeHistory h " +
+            "where h.userEmail = :userEmail " +
+            "and (h.createdAt < :createdAt or (h.createdAt = :createdAt and h.id < :id)) " +
+            "order by h.createdAt desc, h.id desc")
+    List<ResumeHistorySummary> findSummariesBefore(@Param("userEmail") String userEmail,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    @EntityGraph(attributePaths = "resumeContent")
+    Optional<ResumeHistory> findByIdAndUserEmail(Long id, String userEmail);
+
+    // 이력서 본문까지 함께 읽기 (트랜잭션 밖에서 getUserResume()을 호출하는 경우)
+    @EntityGraph(attributePaths = "resumeContent")
+    Optional<ResumeHistory> findWithContentById(Long id);
+
+    // 압축 저장소로 아직 옮기지 않은 행 id (id 순 키셋, 백필용)
+    @Query("select h.id from ResumeHistory h where h.id > :afterId " +
+            "and (h.legacyUserResume is not null or h.legacyAiResponse is not null) order by h.id")
+    List<Long> findLegacyStorageIds(@Param("afterId") Long afterId, Limit limit);
+
+    // 검색 색인 일괄 구성: id 순 키셋으로 본문까지 읽는다.
+    @EntityGraph(attributePaths = "resumeContent")
+    List<ResumeHistory> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // 색인 주기 점검: id 순 키셋으로 id만 읽어 색인과 맞대어 본다.
+    @Query("select h.id from ResumeHistory h where h.id > :afterId order by h.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // 색인 주기 점검: 색인에서 빠진 행만 본문까지 읽는다.
+    @EntityGraph(attributePaths = "resumeContent")
+    List<ResumeHistory> findWithContentByIdIn(Collection<Long> ids);
+}
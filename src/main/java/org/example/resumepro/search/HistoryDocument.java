@@ -0,0 +1,16 @@
+package org.example.resumepro.search;
+
+import org.example.resumepro.entity.ResumeHistory;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 색인에 넣는 이력 1건.
+ */
+public record HistoryDocument(Long id, String userEmail, LocalDateTime createdAt, String resume, String analysis) {
+
+    public static HistoryDocument from(ResumeHistory history) {
+        return new HistoryDocument(history.getId(), history.getUserEmail(), history.getCreatedAt(),
+                history.getUserResume(), history.getAiResponse());
+    }
+}
@@ -0,0 +1,271 @@
+package org.example.resumepro.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.example.resumepro.dto.HistorySearchHit;
+import org.example.resumepro.dto.HistorySearchPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 분석 이력 전문 검색 색인 (로컬 디스크의 Lucene 색인, 한국어는 nori 형태소 분석).
+ * 이력서 본문과 분석 결과를 색인하고, 사용자 이메일로 거른 뒤 점수순(같으면 최신순)으로 페이지를 돌려준다.
+ * 쓰기는 바로 보이지 않고 refresh() 이후 검색에 반영되며, commit() 전까지는 재시작 시 사라질 수 있다
+ * (사라진 분량은 HistorySearchService가 시작 시 maxIndexedId() 이후 행을, 주기 점검에서 indexedIds()에 없는 행을 다시 색인해 메운다).
+ */
+@Component
+public class HistorySearchIndex {
+
+    static final String ID = "id";
+    static final String ID_POINT = "id_point";
+    static final String USER = "user";
+    static final String CREATED = "created";
+    static final String RESUME = "resume";
+    static final String ANALYSIS = "analysis";
+
+    // 깊은 페이지는 상위 N건을 모두 정렬해야 하므로 조회 범위를 제한한다.
+    public static final int MAX_WINDOW = 1000;
+    private static final int SNIPPET_PASSAGES = 2;
+
+    // 하이라이트를 위해 위치/오프셋까지 색인하고 원문을 저장한다.
+    private static final FieldType TEXT = new FieldType();
+
+    static {
+        TEXT.setTokenized(true);
+        TEXT.setStored(true);
+        TEXT.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT.freeze();
+    }
+
+    // 이력서 본문 일치를 분석 결과 일치보다 높게 친다.
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(RESUME, 1.0f, ANALYSIS, 0.5f);
+    private static final Sort RELEVANCE_THEN_RECENT =
+            new Sort(SortField.FIELD_SCORE, new SortField(CREATED, SortField.Type.LONG, true));
+
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Timer queryTimer;
+
+    public HistorySearchIndex(@Value("${resumepro.search.index-dir:${java.io.tmpdir}/resumepro/search-index}") Path indexDir,
+                              @Value("${resumepro.search.ram-buffer-mb:64}") double ramBufferMb,
+                              MeterRegistry meterRegistry) throws IOException {
+        Files.createDirectories(indexDir);
+        this.directory = FSDirectory.open(indexDir);
+        this.analyzer = new KoreanAnalyzer();
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferMb);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+
+        Gauge.builder("resumepro.search.docs", writer, w -> w.getDocStats().numDocs).register(meterRegistry);
+        this.queryTimer = Timer.builder("resumepro.search.query").register(meterRegistry);
+    }
+
+    /**
+     * 같은 id가 이미 있으면 교체한다 (이벤트 색인과 시작 시 재색인이 겹쳐도 중복되지 않는다).
+     */
+    public void index(Collection<HistoryDocument> documents) throws IOException {
+        for (HistoryDocument document : documents) {
+            writer.updateDocument(new Term(ID, String.valueOf(document.id())), toDocument(document));
+        }
+    }
+
+    public HistorySearchPage search(String userEmail, String text, int page, int size) {
+        long start = System.nanoTime();
+        IndexSearcher searcher = acquire();
+        try {
+            SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+            parser.setDefaultOperator(BooleanClause.Occur.MUST);
+            Query parsed = parser.parse(text);
+            if (parsed == null) {
+                // 조사 등 불용어만 입력한 경우
+                return new HistorySearchPage(List.of(), page, size, 0, false);
+            }
+            Query query = new BooleanQuery.Builder()
+                    .add(parsed, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(USER, userEmail)), BooleanClause.Occur.FILTER)
+                    .build();
+
+            int from = page * size;
+            TopFieldDocs top = searcher.search(query, from + size, RELEVANCE_THEN_RECENT, true);
+            long total = top.totalHits.value;
+            if (from >= top.scoreDocs.length) {
+                return new HistorySearchPage(List.of(), page, size, total, false);
+            }
+            ScoreDoc[] pageDocs = Arrays.copyOfRange(top.scoreDocs, from, top.scoreDocs.length);
+
+            // 현재 페이지 문서만 하이라이트한다.
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("<em>", "</em>", " … ", true))
+                    .build();
+            Map<String, String[]> snippets = highlighter.highlightFields(new String[]{RESUME, ANALYSIS}, query,
+                    new TopDocs(top.totalHits, pageDocs), new int[]{SNIPPET_PASSAGES, SNIPPET_PASSAGES});
+
+            List<HistorySearchHit> hits = new ArrayList<>(pageDocs.length);
+            for (int i = 0; i < pageDocs.length; i++) {
+                Document stored = searcher.storedFields().document(pageDocs[i].doc);
+                hits.add(new HistorySearchHit(Long.valueOf(stored.get(ID)),
+                        toDateTime(stored.getField(CREATED).numericValue().longValue()),
+                        snippets.get(RESUME)[i], snippets.get(ANALYSIS)[i]));
+            }
+            return new HistorySearchPage(hits, page, size, total, total > from + size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+            queryTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * 색인에 들어 있는 가장 큰 이력 id (비어 있으면 0). 커밋되지 않은 변경도 refresh() 이후면 포함된다.
+     */
+    public long maxIndexedId() {
+        IndexSearcher searcher = acquire();
+        try {
+            byte[] max = PointValues.getMaxPackedValue(searcher.getIndexReader(), ID_POINT);
+            return max == null ? 0 : LongPoint.decodeDimension(max, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * [fromId, toId] 범위에서 색인에 들어 있는 이력 id. 커밋되지 않은 변경도 refresh() 이후면 포함된다.
+     * HistorySearchService의 주기 점검이 DB에는 있는데 색인에는 없는 행을 찾는 데 쓴다.
+     */
+    public Set<Long> indexedIds(long fromId, long toId) {
+        IndexSearcher searcher = acquire();
+        try {
+            int limit = (int) Math.max(1, Math.min(toId - fromId + 1, searcher.getIndexReader().maxDoc()));
+            TopDocs top = searcher.search(LongPoint.newRangeQuery(ID_POINT, fromId, toId), limit);
+            Set<Long> ids = new HashSet<>(top.scoreDocs.length * 2);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                ids.add(Long.valueOf(searcher.storedFields().document(scoreDoc.doc, Set.of(ID)).get(ID)));
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public int numDocs() {
+        return writer.getDocStats().numDocs;
+    }
+
+    // 이후 검색에 그동안의 쓰기를 반영한다 (바뀐 내용이 없으면 비용이 거의 없다).
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    public void deleteAll() throws IOException {
+        writer.deleteAll();
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document toDocument(HistoryDocument source) {
+        long createdAt = source.createdAt() != null ? source.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(source.id()), Field.Store.YES));
+        document.add(new LongPoint(ID_POINT, source.id()));
+        document.add(new StringField(USER, source.userEmail(), Field.Store.NO));
+        document.add(new NumericDocValuesField(CREATED, createdAt));
+        document.add(new StoredField(CREATED, createdAt));
+        document.add(new Field(RESUME, nullToEmpty(source.resume()), TEXT));
+        document.add(new Field(ANALYSIS, nullToEmpty(source.analysis()), TEXT));
+        return document;
+    }
+
+    private static LocalDateTime toDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+
+    private static String nullToEmpty(String text) {
+        return text != null ? text : "";
+    }
+
+    // 남은 쓰기를 커밋하고 닫는다.
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        analyzer.close();
+        directory.close();
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.resumepro.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.dto.HistorySearchPage;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.ResumeRepository;
+import org.example.resumepro.storage.HistorySavedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 분석 이력 검색. 색인은 세 경로로 채운다.
+ * <ul>
+ *     <li>증분: 쓰기 버퍼가 커밋한 이력(HistorySavedEvent)을 전용 스레드에서 바로 색인한다.</li>
+ *     <li>일괄: 시작 시 색인의 마지막 id 이후 행을 id 순 키셋으로 읽어 색인한다
+ *     (색인이 비어 있거나 rebuild-on-startup이면 처음부터 다시 만든다).</li>
+ *     <li>점검: reconcile-interval마다 DB의 id 전체를 키셋으로 읽어 색인에 없는 행만 색인한다.
+ *     쓰기 버퍼는 id를 블록 단위로 미리 받아 두므로 작은 id가 나중에 커밋될 수 있고(마지막 id만 보는 일괄 경로가 놓친다),
+ *     색인은 노드마다 로컬 디스크에 따로 있어 다른 노드가 저장한 이력은 이벤트로 오지 않는다.
+ *     여러 노드로 띄우면 다른 노드의 이력은 최대 reconcile-interval 뒤에 검색된다.</li>
+ * </ul>
+ * 모든 경로가 같은 스레드에서 id 기준으로 교체하므로 겹쳐도 중복되지 않는다.
+ */
+@Slf4j
+@Service
+public class HistorySearchService {
+
+    private final HistorySearchIndex index;
+    private final ResumeRepository resumeRepository;
+    private final boolean rebuildOnStartup;
+    private final int rebuildBatchSize;
+    private final int maxPageSize;
+    // 점검이 길어져도 다음 점검이 색인 스레드에 쌓이지 않게 한다.
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    // 색인 쓰기는 한 스레드에서만 한다 (요청/저장 스레드를 막지 않는다).
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+            .name("history-search-indexer").daemon(true).factory());
+
+    public HistorySearchService(HistorySearchIndex index, ResumeRepository resumeRepository,
+                                @Value("${resumepro.search.rebuild-on-startup:false}") boolean rebuildOnStartup,
+                                @Value("${resumepro.search.rebuild-batch-size:500}") int rebuildBatchSize,
+                                @Value("${resumepro.search.max-page-size:50}") int maxPageSize) {
+        this.index = index;
+        this.resumeRepository = resumeRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * 내 이력에서 검색한다. 검색어 문법: 공백은 AND, "구문", -제외, 접두어*, a | b.
+     * 검색어가 비었거나 페이지 범위를 벗어나면 IllegalArgumentException.
+     */
+    public HistorySearchPage search(String userEmail, String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("검색어를 입력해 주세요.");
+        }
+        int pageSize = Math.clamp(size, 1, maxPageSize);
+        if (page < 0 || (long) (page + 1) * pageSize > HistorySearchIndex.MAX_WINDOW) {
+            throw new IllegalArgumentException("조회할 수 없는 페이지입니다.");
+        }
+        return index.search(userEmail, query.strip(), page, pageSize);
+    }
+
+    @EventListener
+    public void onSaved(HistorySavedEvent event) {
+        List<HistoryDocument> documents = event.histories().stream().map(HistoryDocument::from).toList();
+        indexer.execute(() -> {
+            try {
+                index.index(documents);
+            } catch (IOException | RuntimeException e) {
+                // 빠진 이력은 다음 점검(reconcile)에서 채워진다.
+                log.error("이력 검색 색인 실패: {}건", documents.size(), e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        indexer.execute(() -> {
+            try {
+                rebuildFrom(rebuildOnStartup || index.numDocs() == 0 ? 0 : index.maxIndexedId());
+            } catch (IOException | RuntimeException e) {
+                log.error("이력 검색 색인 재구성 실패", e);
+            }
+        });
+    }
+
+    void rebuildFrom(long afterId) throws IOException {
+        if (afterId == 0) {
+            index.deleteAll();
+        }
+        long start = System.nanoTime();
+        long lastId = afterId;
+        int indexed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<ResumeHistory> rows = resumeRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(rebuildBatchSize));
+            if (rows.isEmpty()) break;
+
+            index.index(rows.stream().map(HistoryDocument::from).toList());
+            lastId = rows.get(rows.size() - 1).getId();
+            indexed += rows.size();
+        }
+        index.commit();
+        index.refresh();
+        if (indexed > 0) {
+            log.info("이력 검색 색인: {}건 ({} ms)", indexed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${resumepro.search.reconcile-interval:300000}",
+            fixedDelayString = "${resumepro.search.reconcile-interval:300000}")
+    public void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) return;
+        indexer.execute(() -> {
+            try {
+                reconcileAll();
+            } catch (IOException | RuntimeException e) {
+                log.error("이력 검색 색인 점검 실패", e);
+            } finally {
+                reconciling.set(false);
+            }
+        });
+    }
+
+    // DB의 id를 배치마다 색인의 같은 범위 id와 비교해 빠진 행만 본문까지 읽어 색인한다.
+    void reconcileAll() throws IOException {
+        index.refresh();
+        long start = System.nanoTime();
+        long lastId = 0;
+        int added = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = resumeRepository.findIdsAfter(lastId, Limit.of(rebuildBatchSize));
+            if (ids.isEmpty()) break;
+
+            Set<Long> indexed = index.indexedIds(ids.get(0), ids.get(ids.size() - 1));
+            List<Long> missing = ids.stream().filter(id -> !indexed.contains(id)).toList();
+            if (!missing.isEmpty()) {
+                index.index(resumeRepository.findWithContentByIdIn(missing).stream().map(HistoryDocument::from).toList());
+                added += missing.size();
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        if (added > 0) {
+            index.refresh();
+            log.info("이력 검색 색인 점검: 빠진 {}건 색인 ({} ms)", added, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${resumepro.search.refresh-interval:1000}")
+    public void refresh() throws IOException {
+        index.refresh();
+    }
+
+    // 커밋 사이에 종료되면 그 사이 색인은 다음 시작 시 catchUp()이 다시 만든다.
+    @Scheduled(fixedDelayString = "${resumepro.search.commit-interval:60000}")
+    public void commit() throws IOException {
+        index.commit();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        indexer.shutdown();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
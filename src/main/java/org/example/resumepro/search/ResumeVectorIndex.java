@@ -0,0 +1,218 @@
+package org.example.resumepro.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 이력서 임베딩 벡터 색인 (Lucene HNSW 그래프, 로컬 디스크).
+ * 벡터는 float[]로 받아 세그먼트 파일에 저장되고, 검색 시에는 메모리 매핑된 파일에서 바로 읽으므로
+ * 벡터 수가 늘어도 힙을 쓰지 않는다. 벡터는 길이 1로 정규화해서 넣고 내적(DOT_PRODUCT)으로 비교한다.
+ * 어떤 임베딩 모델로 만든 색인인지 커밋 데이터(model)에 남겨, 모델이 바뀌면 다시 만들 수 있게 한다.
+ */
+@Component
+public class ResumeVectorIndex {
+
+    static final String ID = "id";
+    static final String ID_POINT = "id_point";
+    static final String USER = "user";
+    static final String CREATED = "created";
+    static final String VECTOR = "vector";
+    private static final String MODEL_KEY = "model";
+
+    /**
+     * @param similarity 코사인 유사도 (-1 ~ 1)
+     */
+    public record Hit(Long historyId, double similarity, LocalDateTime createdAt) {
+    }
+
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile String model;
+
+    public ResumeVectorIndex(@Value("${resumepro.similar.index-dir:${java.io.tmpdir}/resumepro/vector-index}") Path indexDir,
+                             MeterRegistry meterRegistry) throws IOException {
+        Files.createDirectories(indexDir);
+        this.directory = FSDirectory.open(indexDir);
+        this.model = DirectoryReader.indexExists(directory)
+                ? SegmentInfos.readLatestCommit(directory).getUserData().get(MODEL_KEY) : null;
+        this.writer = new IndexWriter(directory, new IndexWriterConfig()
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        if (model != null) {
+            writer.setLiveCommitData(Map.of(MODEL_KEY, model).entrySet());
+        }
+
+        Gauge.builder("resumepro.similar.vectors", writer, w -> w.getDocStats().numDocs).register(meterRegistry);
+    }
+
+    /**
+     * 색인을 만든 임베딩 모델 (한 번도 커밋하지 않았으면 null).
+     */
+    public String model() {
+        return model;
+    }
+
+    /**
+     * 모든 벡터를 지우고 새 모델로 다시 만들기 시작한다 (차원이 다른 벡터는 한 필드에 섞을 수 없다).
+     */
+    public void reset(String model) throws IOException {
+        writer.deleteAll();
+        this.model = model;
+        writer.setLiveCommitData(Map.of(MODEL_KEY, model).entrySet());
+    }
+
+    /**
+     * 같은 id가 이미 있으면 교체한다. vector는 길이 1로 정규화되어 있어야 한다.
+     */
+    public void index(Collection<VectorDocument> documents) throws IOException {
+        for (VectorDocument document : documents) {
+            writer.updateDocument(new Term(ID, String.valueOf(document.historyId())), toDocument(document));
+        }
+    }
+
+    /**
+     * query와 가장 비슷한 k건 (유사도 내림차순). userEmail이 있으면 그 사용자의 이력 안에서만 찾는다.
+     */
+    public List<Hit> search(float[] query, String userEmail, int k) {
+        IndexSearcher searcher = acquire();
+        try {
+            KnnFloatVectorQuery knn = userEmail == null
+                    ? new KnnFloatVectorQuery(VECTOR, query, k)
+                    : new KnnFloatVectorQuery(VECTOR, query, k, new TermQuery(new Term(USER, userEmail)));
+            TopDocs top = searcher.search(knn, k);
+            List<Hit> hits = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                Document stored = searcher.storedFields().document(scoreDoc.doc);
+                // DOT_PRODUCT 점수는 (1 + 내적) / 2
+                hits.add(new Hit(Long.valueOf(stored.get(ID)), 2.0 * scoreDoc.score - 1,
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(stored.getField(CREATED).numericValue().longValue()),
+                                ZoneOffset.UTC)));
+            }
+            return hits;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public long maxIndexedId() {
+        IndexSearcher searcher = acquire();
+        try {
+            byte[] max = PointValues.getMaxPackedValue(searcher.getIndexReader(), ID_POINT);
+            return max == null ? 0 : LongPoint.decodeDimension(max, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * [fromId, toId] 범위에서 색인에 들어 있는 이력 id. 커밋되지 않은 변경도 refresh() 이후면 포함된다.
+     * SimilarResumeService의 주기 점검이 색인에서 빠진 행을 찾는 데 쓴다.
+     */
+    public Set<Long> indexedIds(long fromId, long toId) {
+        IndexSearcher searcher = acquire();
+        try {
+            int limit = (int) Math.max(1, Math.min(toId - fromId + 1, searcher.getIndexReader().maxDoc()));
+            TopDocs top = searcher.search(LongPoint.newRangeQuery(ID_POINT, fromId, toId), limit);
+            Set<Long> ids = new HashSet<>(top.scoreDocs.length * 2);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                ids.add(Long.valueOf(searcher.storedFields().document(scoreDoc.doc, Set.of(ID)).get(ID)));
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public int numDocs() {
+        return writer.getDocStats().numDocs;
+    }
+
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document toDocument(VectorDocument source) {
+        long createdAt = source.createdAt() != null ? source.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(source.historyId()), Field.Store.YES));
+        document.add(new LongPoint(ID_POINT, source.historyId()));
+        document.add(new StringField(USER, source.userEmail(), Field.Store.NO));
+        document.add(new StoredField(CREATED, createdAt));
+        document.add(new KnnFloatVectorField(VECTOR, source.vector(), VectorSimilarityFunction.DOT_PRODUCT));
+        return document;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+}
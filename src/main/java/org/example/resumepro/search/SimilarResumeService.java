@@ -0,0 +1,333 @@
+package org.example.resumepro.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.ai.HashingEmbeddingModel;
+import org.example.resumepro.ai.PromptBuilder;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.ResumeRepository;
+import org.example.resumepro.storage.HistorySavedEvent;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 비슷한 이력서 찾기. 저장된 이력마다 이력서 본문을 임베딩해 ResumeVectorIndex에 넣고,
+ * 분석 전에 같은 사용자의 이전 이력 중 가장 비슷한 것을 찾아 다음처럼 쓴다.
+ * <ul>
+ *     <li>near-duplicate-threshold 이상: 사실상 같은 이력서이므로 이전 분석 결과를 그대로 쓴다 (AI 호출 없음).</li>
+ *     <li>reference-threshold 이상: 이전 분석 요약을 프롬프트에 붙여 무엇이 달라졌는지 함께 보게 한다.</li>
+ * </ul>
+ * 다른 사용자의 이력은 쓰지 않는다 (이전 분석에 이름, 회사 등 개인 정보가 들어 있다).
+ * 임베딩은 Spring AI EmbeddingModel을 쓰며, embedding=model이고 빈이 하나 있으면 그 모델을,
+ * 아니면 네트워크 없이 동작하는 HashingEmbeddingModel을 쓴다. 조회 실패는 분석을 막지 않는다.
+ * 색인은 저장 이벤트, 시작 시 마지막 id 이후 키셋, reconcile-interval마다의 점검(DB id 중 색인에 없는 행)으로 채운다.
+ * 점검은 나중에 커밋된 작은 id와 다른 노드가 저장한 이력(색인은 노드마다 따로 있다)을 메운다 (HistorySearchService와 같다).
+ */
+@Slf4j
+@Service
+public class SimilarResumeService {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int REFERENCE_EXCERPT_CHARS = 300;
+
+    /**
+     * @param reusedAnalysis   거의 같은 이전 이력서의 분석 결과 (없으면 null)
+     * @param referenceContext 프롬프트에 덧붙일 이전 분석 요약 (없으면 빈 문자열)
+     */
+    public record Lookup(String reusedAnalysis, String referenceContext) {
+
+        public static final Lookup NONE = new Lookup(null, "");
+
+        public boolean isNearDuplicate() {
+            return reusedAnalysis != null;
+        }
+
+        public boolean hasReferences() {
+            return !referenceContext.isEmpty();
+        }
+    }
+
+    private final ResumeVectorIndex index;
+    private final ResumeRepository resumeRepository;
+    private final EmbeddingModel embeddingModel;
+    // 색인에 기록하는 임베딩 모델 식별자 (구현 클래스 + 모델 이름 + 차원). 다르면 색인을 다시 만든다.
+    // 등록된 모델의 차원은 호출이 필요할 수 있어 시작 후 색인 스레드에서 정한다 (정하기 전에는 null).
+    private volatile String modelId;
+    private final String modelName;
+    private final boolean enabled;
+    private final int topK;
+    private final double nearDuplicateThreshold;
+    private final double referenceThreshold;
+    private final int maxChars;
+    private final int rebuildBatchSize;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    // 임베딩/색인 쓰기는 한 스레드에서만 한다 (저장 스레드를 막지 않는다).
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+            .name("resume-vector-indexer").daemon(true).factory());
+
+    public SimilarResumeService(ResumeVectorIndex index, ResumeRepository resumeRepository,
+                                ObjectProvider<EmbeddingModel> embeddingModels,
+                                @Value("${resumepro.similar.enabled:false}") boolean enabled,
+                                @Value("${resumepro.similar.embedding:local}") String embedding,
+                                @Value("${resumepro.similar.model-name:}") String modelName,
+                                @Value("${resumepro.similar.local-dimensions:256}") int localDimensions,
+                                @Value("${resumepro.similar.top-k:3}") int topK,
+                                @Value("${resumepro.similar.near-duplicate-threshold:0.97}") double nearDuplicateThreshold,
+                                @Value("${resumepro.similar.reference-threshold:0.8}") double referenceThreshold,
+                                @Value("${resumepro.similar.max-chars:8000}") int maxChars,
+                                @Value("${resumepro.similar.rebuild-batch-size:200}") int rebuildBatchSize,
+                                MeterRegistry meterRegistry) {
+        this.index = index;
+        this.resumeRepository = resumeRepository;
+        EmbeddingModel configured = "model".equals(embedding) ? embeddingModels.getIfUnique() : null;
+        this.embeddingModel = configured != null ? configured : new HashingEmbeddingModel(localDimensions);
+        this.modelId = configured != null ? null : HashingEmbeddingModel.class.getSimpleName() + ":" + localDimensions;
+        this.modelName = modelName;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.nearDuplicateThreshold = nearDuplicateThreshold;
+        this.referenceThreshold = referenceThreshold;
+        this.maxChars = maxChars;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 분석 전 조회. 꺼져 있거나 조회에 실패하면 Lookup.NONE.
+     */
+    public Lookup lookup(String userResume, String userEmail) {
+        if (!enabled) return Lookup.NONE;
+
+        long start = System.nanoTime();
+        String outcome = "none";
+        try {
+            List<ResumeVectorIndex.Hit> hits = findSimilar(userResume, userEmail, topK).stream()
+                    .filter(hit -> hit.similarity() >= referenceThreshold)
+                    .toList();
+            if (hits.isEmpty()) return Lookup.NONE;
+
+            Map<Long, ResumeHistory> histories = resumeRepository.findAllById(
+                            hits.stream().map(ResumeVectorIndex.Hit::historyId).toList()).stream()
+                    .collect(Collectors.toMap(ResumeHistory::getId, Function.identity()));
+
+            // 빈 응답이나 일부 카테고리만 채워진 분석은 그대로 쓰지 않는다 (complete가 true인 행만, 도입 전 행은 제외).
+            for (ResumeVectorIndex.Hit hit : hits) {
+                if (hit.similarity() < nearDuplicateThreshold) break;
+                ResumeHistory history = histories.get(hit.historyId());
+                if (history != null && history.getAiResponse() != null && Boolean.TRUE.equals(history.getComplete())) {
+                    outcome = "reused";
+                    return new Lookup(history.getAiResponse(), "");
+                }
+            }
+
+            String context = referenceContext(hits, histories);
+            outcome = context.isEmpty() ? "none" : "referenced";
+            return new Lookup(null, context);
+        } catch (RuntimeException e) {
+            outcome = "error";
+            log.warn("유사 이력서 조회 실패", e);
+            return Lookup.NONE;
+        } finally {
+            Timer.builder("resumepro.similar.lookup")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * userEmail의 이력 중 resume와 가장 비슷한 k건 (유사도 내림차순).
+     */
+    public List<ResumeVectorIndex.Hit> findSimilar(String resume, String userEmail, int k) {
+        return index.search(embed(resume), userEmail, k);
+    }
+
+    @EventListener
+    public void onSaved(HistorySavedEvent event) {
+        if (!enabled) return;
+        List<ResumeHistory> histories = event.histories();
+        indexer.execute(() -> {
+            try {
+                indexAll(histories);
+            } catch (IOException | RuntimeException e) {
+                // 빠진 이력은 다음 점검(reconcile)에서 채워진다.
+                log.error("이력서 임베딩 색인 실패: {}건", histories.size(), e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        if (!enabled) return;
+        indexer.execute(() -> {
+            try {
+                if (modelId == null) {
+                    modelId = embeddingModel.getClass().getName() + ":" + modelName + ":" + embeddingModel.dimensions();
+                }
+                if (!modelId.equals(index.model())) {
+                    // 처음이거나 임베딩 모델이 바뀌었으면 처음부터 다시 만든다.
+                    index.reset(modelId);
+                    rebuildFrom(0);
+                } else {
+                    rebuildFrom(index.maxIndexedId());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("이력서 임베딩 색인 재구성 실패", e);
+            }
+        });
+    }
+
+    void rebuildFrom(long afterId) throws IOException {
+        long start = System.nanoTime();
+        long lastId = afterId;
+        int indexed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<ResumeHistory> rows = resumeRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(rebuildBatchSize));
+            if (rows.isEmpty()) break;
+
+            indexAll(rows);
+            lastId = rows.get(rows.size() - 1).getId();
+            indexed += rows.size();
+        }
+        index.commit();
+        index.refresh();
+        if (indexed > 0) {
+            log.info("이력서 임베딩 색인: {}건 ({} ms)", indexed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${resumepro.similar.reconcile-interval:300000}",
+            fixedDelayString = "${resumepro.similar.reconcile-interval:300000}")
+    public void reconcile() {
+        if (!enabled || !reconciling.compareAndSet(false, true)) return;
+        indexer.execute(() -> {
+            try {
+                // 모델이 바뀌어 아직 다시 만들지 않은 색인은 catchUp이 처음부터 채운다.
+                if (modelId != null && modelId.equals(index.model())) reconcileAll();
+            } catch (IOException | RuntimeException e) {
+                log.error("이력서 임베딩 색인 점검 실패", e);
+            } finally {
+                reconciling.set(false);
+            }
+        });
+    }
+
+    // DB의 id를 배치마다 색인의 같은 범위 id와 비교해 빠진 행만 임베딩한다.
+    // 본문이 비어 있어 색인하지 않는 행은 매번 다시 읽히지만 임베딩 요청은 하지 않는다.
+    void reconcileAll() throws IOException {
+        index.refresh();
+        long start = System.nanoTime();
+        long lastId = 0;
+        int added = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = resumeRepository.findIdsAfter(lastId, Limit.of(rebuildBatchSize));
+            if (ids.isEmpty()) break;
+
+            Set<Long> indexed = index.indexedIds(ids.get(0), ids.get(ids.size() - 1));
+            List<Long> missing = ids.stream().filter(id -> !indexed.contains(id)).toList();
+            if (!missing.isEmpty()) {
+                List<ResumeHistory> rows = resumeRepository.findWithContentByIdIn(missing);
+                indexAll(rows);
+                added += rows.size();
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        if (added > 0) {
+            index.refresh();
+            log.info("이력서 임베딩 색인 점검: 빠진 {}건 확인 ({} ms)", added, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    // 본문이 비어 있는 이력은 건너뛰고, 나머지는 한 번의 임베딩 요청으로 묶는다.
+    void indexAll(List<ResumeHistory> histories) throws IOException {
+        List<ResumeHistory> targets = histories.stream()
+                .filter(history -> history.getUserResume() != null && !history.getUserResume().isBlank())
+                .toList();
+        if (targets.isEmpty()) return;
+
+        List<float[]> vectors = embeddingModel.embed(targets.stream().map(history -> embeddingInput(history.getUserResume())).toList());
+        List<VectorDocument> documents = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            ResumeHistory history = targets.get(i);
+            documents.add(new VectorDocument(history.getId(), history.getUserEmail(), history.getCreatedAt(),
+                    HashingEmbeddingModel.normalize(vectors.get(i))));
+        }
+        index.index(documents);
+    }
+
+    private float[] embed(String resume) {
+        return HashingEmbeddingModel.normalize(embeddingModel.embed(embeddingInput(resume)));
+    }
+
+    // 임베딩 모델 입력 길이 제한에 맞춰 정리된 본문의 앞부분만 쓴다.
+    private String embeddingInput(String resume) {
+        String normalized = PromptBuilder.normalize(resume);
+        return normalized.length() > maxChars ? normalized.substring(0, maxChars) : normalized;
+    }
+
+    private static String referenceContext(List<ResumeVectorIndex.Hit> hits, Map<Long, ResumeHistory> histories) {
+        StringBuilder context = new StringBuilder();
+        int n = 0;
+        for (ResumeVectorIndex.Hit hit : hits) {
+            ResumeHistory history = histories.get(hit.historyId());
+            String analysis = Optional.ofNullable(history).map(ResumeHistory::getAiResponse).orElse(null);
+            if (analysis == null || analysis.isBlank() || Boolean.FALSE.equals(history.getComplete())) continue;
+
+            String excerpt = PromptBuilder.normalize(analysis);
+            if (excerpt.length() > REFERENCE_EXCERPT_CHARS) {
+                excerpt = excerpt.substring(0, REFERENCE_EXCERPT_CHARS) + "…";
+            }
+            context.append(++n).append(". ")
+                    .append(history.getCreatedAt() != null ? history.getCreatedAt().format(DATE) : "날짜 없음")
+                    .append(" 분석 (유사도 ").append(String.format("%.2f", hit.similarity())).append("): ")
+                    .append(excerpt).append('\n');
+        }
+        if (context.isEmpty()) return "";
+        return "\n\n[참고: 이 지원자가 이전에 검토받은 비슷한 이력서의 분석 요약]\n" + context
+                + "이전 분석과 비교해 나아진 점과 여전히 보완할 점을 [개선 방향]에 함께 적어줘.";
+    }
+
+    @Scheduled(fixedDelayString = "${resumepro.search.refresh-interval:1000}")
+    public void refresh() throws IOException {
+        if (enabled) index.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${resumepro.search.commit-interval:60000}")
+    public void commit() throws IOException {
+        if (enabled) index.commit();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        indexer.shutdown();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
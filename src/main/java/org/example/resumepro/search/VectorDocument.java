@@ -0,0 +1,9 @@
+package org.example.resumepro.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * 벡터 색인에 넣는 이력 1건 (vector는 길이 1로 정규화된 이력서 임베딩).
+ */
+public record VectorDocument(Long historyId, String userEmail, LocalDateTime createdAt, float[] vector) {
+}
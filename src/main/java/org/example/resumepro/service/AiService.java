@@ -1,43 +1,45 @@
 package org.example.resumepro.service;
 
-import com.lowagie.text.Document;
-import com.lowagie.text.Font;
-import com.lowagie.text.PageSize;
-import com.lowagie.text.Paragraph;
-import com.lowagie.text.pdf.BaseFont;
-import com.lowagie.text.pdf.PdfWriter;
+import io.micrometer.observation.Observation;
 import lombok.RequiredArgsConstructor;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.example.resumepro.ai.AnalysisCache;
+import org.example.resumepro.ai.LlmCallCoalescer;
+import org.example.resumepro.ai.LlmUnavailableException;
+import org.example.resumepro.ai.PromptBuilder;
+import org.example.resumepro.ai.RateLimitExceededException;
+import org.example.resumepro.ai.ResumeFingerprint;
+import org.example.resumepro.ai.SectionedReview;
+import org.example.resumepro.dto.HistoryDetail;
+import org.example.resumepro.dto.HistoryPage;
+import org.example.resumepro.dto.ResumeHistorySummary;
 import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.observability.AnalysisStages;
+import org.example.resumepro.pdf.DocumentTextExtractor;
+import org.example.resumepro.pdf.PdfReportService;
 import org.example.resumepro.repository.ResumeRepository;
+import org.example.resumepro.search.SimilarResumeService;
+import org.example.resumepro.storage.HistoryWriteBuffer;
+import org.example.resumepro.storage.ResumeContentService;
+import org.example.resumepro.util.MarkdownCleaner;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AiService {
 
-    private final ChatClient chatClient;
-    private final ResumeRepository resumeRepository;
-
-    public AiService(ChatClient.Builder builder, ResumeRepository resumeRepository) {
-        this.chatClient = builder.build();
-        this.resumeRepository = resumeRepository;
-    }
-
-    @Transactional
-    public String checkAndSaveResume(String userResume, String userEmail) {
-        if (userResume == null || userResume.trim().isEmpty()) {
-            return "분석할 내용이 없습니다.";
-        }
-
-        // 마크다운 사용 금지를 명시한 시스템 지침
-        String systemInstruction = """
+    // 마크다운 사용 금지를 명시한 시스템 지침
+    private static final String SYSTEM_INSTRUCTION = """
             너는 10년차 베테랑 인사담당자야. 다음 규칙에 따라 이력서를 정밀하게 검토해줘.
             
             [반드시 지켜야 할 규칙]
@@ -47,76 +49,251 @@ public class AiService {
             4. [강점], [약점], [개선 방향], [보완점], [면접 전략] 카테고리로 나누어 상세히 분석할 것.
             """;
 
-        try {
-            String response = chatClient.prompt()
-                    .system(systemInstruction)
-                    .user(userResume)
-                    .call()
-                    .content();
+    // 시스템 지침을 바꾸면 올려서 기존 캐시 결과를 무효화한다.
+    static final String PROMPT_VERSION = "v1";
 
-            if (response != null) {
-                // 남아있을 수 있는 마크다운 기호(#, *)를 정규식으로 강제 제거
-                response = response.replaceAll("[#*`]", "").replace("- ", "• ");
-            } else {
-                response = "AI가 결과를 생성하지 못했습니다.";
-            }
+    private static final String EMPTY_RESPONSE = "AI가 결과를 생성하지 못했습니다.";
 
-            ResumeHistory history = ResumeHistory.builder()
-                    .userEmail(userEmail) // 여기서 이메일을 넣어줍니다.
-                    .userResume(userResume)
-                    .aiResponse(response)
-                    .build();
-            resumeRepository.save(history);
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
 
-            return response;
+    // cacheable: 같은 내용 해시의 다른 요청에 돌려줘도 되는 결과인지 (ResumeHistory.cacheable로 저장)
+    // complete: 모든 항목이 채워진 결과인지 (ResumeHistory.complete로 저장, 비슷한 이력서 재사용 조건)
+    private record Analysis(String text, boolean cacheable, boolean complete) {
+    }
+
+    private final ChatClient chatClient;
+    private final ResumeRepository resumeRepository;
+    private final AnalysisCache analysisCache;
+    private final LlmCallCoalescer llmCallCoalescer;
+    private final PdfReportService pdfReportService;
+    private final DocumentTextExtractor documentTextExtractor;
+    private final ResumeContentService resumeContentService;
+    private final HistoryWriteBuffer historyWriteBuffer;
+    private final AnalysisStages stages;
+    private final SectionedReview sectionedReview;
+    private final PromptBuilder promptBuilder;
+    private final SimilarResumeService similarResumeService;
 
+    public AiService(ChatClient chatClient, ResumeRepository resumeRepository,
+                     AnalysisCache analysisCache, LlmCallCoalescer llmCallCoalescer,
+                     PdfReportService pdfReportService, DocumentTextExtractor documentTextExtractor,
+                     ResumeContentService resumeContentService, HistoryWriteBuffer historyWriteBuffer,
+                     AnalysisStages stages, SectionedReview sectionedReview, PromptBuilder promptBuilder,
+                     SimilarResumeService similarResumeService) {
+        this.chatClient = chatClient;
+        this.resumeRepository = resumeRepository;
+        this.analysisCache = analysisCache;
+        this.llmCallCoalescer = llmCallCoalescer;
+        this.pdfReportService = pdfReportService;
+        this.documentTextExtractor = documentTextExtractor;
+        this.resumeContentService = resumeContentService;
+        this.historyWriteBuffer = historyWriteBuffer;
+        this.stages = stages;
+        this.sectionedReview = sectionedReview;
+        this.promptBuilder = promptBuilder;
+        this.similarResumeService = similarResumeService;
+    }
+
+    // AI 호출 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 실행한다. 저장은 HistoryWriteBuffer가 모아서 한다.
+    public String checkAndSaveResume(String userResume, String userEmail) {
+        if (userResume == null || userResume.trim().isEmpty()) {
+            return "분석할 내용이 없습니다.";
+        }
+
+        try {
+            return analyzeAndSave(userResume, userEmail).getAiResponse();
+        } catch (RateLimitExceededException | LlmUnavailableException e) {
+            // 한도 초과(429)와 AI 일시 장애(503)는 오류 문구가 아니라 상태 코드로 응답한다.
+            throw e;
         } catch (Exception e) {
             return "AI 분석 중 오류가 발생했습니다: " + e.getMessage();
         }
     }
 
-    @Transactional(readOnly = true)
-    public List<ResumeHistory> getMyHistory(String userEmail) {
-        // Repository에 추가한 메서드를 호출합니다.
-        return resumeRepository.findByUserEmailOrderByCreatedAtDesc(userEmail);
+    /**
+     * 분석 후 저장된 ResumeHistory를 반환한다. checkAndSaveResume과 달리 AI 호출 오류를
+     * 그대로 던지므로, 재시도 여부를 직접 판단하는 호출자(분석 작업 큐 등)가 사용한다.
+     */
+    public ResumeHistory analyzeAndSave(String userResume, String userEmail) {
+        String contentHash = ResumeFingerprint.of(userResume, PROMPT_VERSION);
+
+        // 동시에 들어온 같은 이력서 요청은 한 번의 AI 호출 결과를 공유한다.
+        // 유사 이력서 조회를 쓰면 결과가 사용자의 이전 이력에 따라 달라지므로 사용자별로 묶는다.
+        String coalesceKey = similarResumeService.isEnabled() ? contentHash + ":" + userEmail : contentHash;
+        Analysis analysis = llmCallCoalescer.call(coalesceKey, () -> analyze(userResume, contentHash, userEmail));
+
+        return saveHistory(userResume, analysis, userEmail, contentHash).join();
     }
 
-    public byte[] generatePdf(Long historyId) {
-        ResumeHistory history = resumeRepository.findById(historyId)
-                .orElseThrow(() -> new RuntimeException("내역을 찾을 수 없습니다."));
+    /**
+     * 스트리밍 분석. 마크다운 제거를 청크 단위로 적용해 도착하는 대로 내보내고,
+     * 스트림이 정상 종료되면 전체 결과를 ResumeHistory로 저장한 뒤 완료 신호를 보낸다.
+     */
+    public Flux<String> streamAndSaveResume(String userResume, String userEmail) {
+        if (userResume == null || userResume.trim().isEmpty()) {
+            return Flux.just("분석할 내용이 없습니다.");
+        }
 
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Document document = new Document(PageSize.A4, 50, 50, 50, 50);
-            PdfWriter.getInstance(document, out);
-            document.open();
+        String contentHash = ResumeFingerprint.of(userResume, PROMPT_VERSION);
+        Optional<String> cached = stages.observe("cache", () -> analysisCache.get(contentHash));
+        if (cached.isPresent()) {
+            return Flux.just(cached.get())
+                    .concatWith(Mono.fromCallable(() -> saveHistory(userResume, new Analysis(cached.get(), true, true), userEmail, contentHash))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMap(Mono::fromFuture)
+                            .then(Mono.empty()));
+        }
 
-            BaseFont objBaseFont = BaseFont.createFont("c:/Windows/Fonts/malgun.ttf", BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-            Font titleFont = new Font(objBaseFont, 20, Font.BOLD);
-            Font contentFont = new Font(objBaseFont, 11, Font.NORMAL);
+        SimilarResumeService.Lookup similar = stages.observe("similar", () -> similarResumeService.lookup(userResume, userEmail));
+        if (similar.isNearDuplicate()) {
+            return Flux.just(similar.reusedAnalysis())
+                    .concatWith(Mono.fromCallable(() -> saveHistory(userResume, new Analysis(similar.reusedAnalysis(), false, true),
+                                    userEmail, contentHash))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMap(Mono::fromFuture)
+                            .then(Mono.empty()));
+        }
 
-            document.add(new Paragraph("사용자님의 AI 이력서 분석 리포트", titleFont));
-            document.add(new Paragraph("분석 일시: " + history.getCreatedAt(), contentFont));
-            document.add(new Paragraph("\n" + "-".repeat(60) + "\n\n"));
+        MarkdownCleaner.Incremental cleaner = MarkdownCleaner.incremental();
+        StringBuilder fullResponse = new StringBuilder();
 
-            // PDF 생성 시에도 기호 제거 확인
-            String cleanText = history.getAiResponse().replaceAll("[#*`]", "");
-            Paragraph resultPara = new Paragraph(cleanText, contentFont);
-            resultPara.setLeading(18f);
-            document.add(resultPara);
+        ChatClient.ChatClientRequestSpec request = stages.observe("prompt", () -> chatClient.prompt()
+                .system(SYSTEM_INSTRUCTION)
+                .user(promptBuilder.analysisPrompt(userResume) + similar.referenceContext()));
 
-            document.close();
-            return out.toByteArray();
-        } catch (Exception e) {
-            throw new RuntimeException("PDF 생성 중 오류 발생");
+        // 스트리밍 LLM 단계는 구독부터 종료(완료/오류/취소)까지
+        return Flux.defer(() -> {
+                    Observation llm = stages.start("llm");
+                    return request.stream()
+                            .content()
+                            .doOnError(llm::error)
+                            .doFinally(signal -> llm.stop());
+                })
+                .map(cleaner::apply)
+                .concatWith(Mono.fromSupplier(cleaner::flush))
+                .filter(chunk -> !chunk.isEmpty())
+                .doOnNext(fullResponse::append)
+                // 저장(배치 커밋)까지 끝나야 스트림이 완료된다.
+                .concatWith(Mono.fromCallable(() -> {
+                    if (fullResponse.isEmpty()) {
+                        return saveHistory(userResume, new Analysis(EMPTY_RESPONSE, false, false), userEmail, contentHash);
+                    }
+                    String response = fullResponse.toString();
+                    boolean cacheable = !similar.hasReferences();
+                    if (cacheable) {
+                        analysisCache.put(contentHash, response);
+                    }
+                    return saveHistory(userResume, new Analysis(response, cacheable, true), userEmail, contentHash);
+                }).subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(Mono::fromFuture)
+                        .then(Mono.empty()));
+    }
+
+    private Analysis analyze(String userResume, String contentHash, String userEmail) {
+        // 같은 이력서를 이미 분석했다면 AI 호출 없이 캐시된 결과를 쓴다.
+        Optional<String> cached = stages.observe("cache", () -> analysisCache.get(contentHash));
+        if (cached.isPresent()) {
+            return new Analysis(cached.get(), true, true);
         }
+
+        // 같은 사용자가 거의 같은 이력서를 이미 분석했다면 그 결과를 쓰고, 비슷한 이전 이력이 있으면 프롬프트에 참고로 붙인다.
+        SimilarResumeService.Lookup similar = stages.observe("similar", () -> similarResumeService.lookup(userResume, userEmail));
+        if (similar.isNearDuplicate()) {
+            return new Analysis(similar.reusedAnalysis(), false, true);
+        }
+
+        // 정리 + 토큰 예산 적용 (캐시 키는 원문 기준이라 예산을 바꿔도 기존 캐시는 그대로 쓴다)
+        String resumePrompt = stages.observe("prompt", () -> promptBuilder.analysisPrompt(userResume)) + similar.referenceContext();
+
+        String raw;
+        boolean complete = true;
+        if (sectionedReview.isEnabled()) {
+            // 카테고리별 호출을 동시에 보내고 순서대로 합친다. 일부 카테고리만 채워진 결과는 캐시하지 않는다.
+            SectionedReview.Result result = stages.observe("llm", () -> sectionedReview.review(resumePrompt));
+            raw = result.text();
+            complete = result.complete();
+        } else {
+            raw = stages.observe("llm", () -> chatClient.prompt()
+                    .system(SYSTEM_INSTRUCTION)
+                    .user(resumePrompt)
+                    .call()
+                    .content());
+        }
+
+        if (raw == null) {
+            return new Analysis(EMPTY_RESPONSE, false, false);
+        }
+
+        // 남아있을 수 있는 마크다운 기호(#, *)를 정규식으로 강제 제거
+        String response = stages.observe("clean", () -> MarkdownCleaner.clean(raw));
+        // 이전 이력을 참고한 결과는 그 사용자에게만 맞으므로 전역 캐시에 넣지 않는다.
+        boolean cacheable = complete && !similar.hasReferences();
+        if (cacheable) {
+            analysisCache.put(contentHash, response);
+        }
+        return new Analysis(response, cacheable, complete);
     }
 
-    public String extractTextFromPdf(MultipartFile file) {
-        try (PDDocument document = PDDocument.load(file.getInputStream())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        } catch (Exception e) {
-            return "";
+    // 이력서 본문은 바로 resume_content에 넣고(중복이면 재사용), 이력 행은 쓰기 버퍼에 맡긴다.
+    private CompletableFuture<ResumeHistory> saveHistory(String userResume, Analysis analysis, String userEmail, String contentHash) {
+        ResumeHistory history = ResumeHistory.builder()
+                .userEmail(userEmail) // 여기서 이메일을 넣어줍니다.
+                .resumeContent(resumeContentService.intern(userResume))
+                .aiResponse(analysis.text())
+                .preview(ResumeHistory.previewOf(userResume))
+                .contentHash(contentHash)
+                .cacheable(analysis.cacheable())
+                .complete(analysis.complete())
+                .createdAt(LocalDateTime.now())
+                .build();
+        // 배치 커밋까지 기다리는 시간을 포함한다.
+        Observation save = stages.start("save");
+        return historyWriteBuffer.enqueue(history).whenComplete((saved, error) -> {
+            if (error != null) save.error(error);
+            save.stop();
+        });
+    }
+
+    /**
+     * 히스토리 목록 (커서 기반 페이지네이션). cursor가 없으면 첫 페이지.
+     * size + 1개를 읽어서 다음 페이지가 있는지 판단한다.
+     */
+    @Transactional(readOnly = true)
+    public HistoryPage getMyHistory(String userEmail, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ResumeHistorySummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = resumeRepository.findSummaries(userEmail, limit);
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            rows = resumeRepository.findSummariesBefore(userEmail, position.createdAt(), position.id(), limit);
         }
+
+        if (rows.size() <= pageSize) {
+            return new HistoryPage(rows, null);
+        }
+        List<ResumeHistorySummary> page = rows.subList(0, pageSize);
+        ResumeHistorySummary last = page.get(pageSize - 1);
+        return new HistoryPage(page, new HistoryCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    // 히스토리 상세 (본인 이력만)
+    @Transactional(readOnly = true)
+    public HistoryDetail getMyHistoryDetail(Long historyId, String userEmail) {
+        return resumeRepository.findByIdAndUserEmail(historyId, userEmail)
+                .map(HistoryDetail::from)
+                .orElseThrow(() -> new RuntimeException("내역을 찾을 수 없습니다."));
+    }
+
+    public byte[] generatePdf(Long historyId) {
+        return pdfReportService.getReport(historyId);
+    }
+
+    // 업로드 문서(PDF 또는 Tika가 읽을 수 있는 형식)에서 텍스트 추출. 실패하면 DocumentExtractionException
+    // 쪽 번호, 반복 머리글/바닥글, 연속 공백은 저장 전에 정리한다.
+    public String extractTextFromPdf(MultipartFile file) {
+        return stages.observe("extract", () -> promptBuilder.documentText(documentTextExtractor.extract(file)));
     }
 }
\ No newline at end of file
@@ -1,38 +1,93 @@
 package org.example.resumepro.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.resumepro.entity.User;
 import org.example.resumepro.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    // 로그인 시 이메일 → 사용자 조회 캐시 (짧게 유지하고, 탈퇴/해시 갱신 시 무효화).
+    // 요청끼리 같은 엔티티를 공유하지 않도록 불변 사본을 넣고, 꺼낼 때마다 새 User를 만든다.
+    private final Cache<String, CachedUser> users;
 
-    @Transactional
-    public void signup(User user) {
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new RuntimeException("이미 존재하는 이메일입니다.");
+    private record CachedUser(Long id, String email, String passwordHash, String nickname, String role,
+                              String provider, String providerId) {
+
+        static CachedUser from(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getPassword(), user.getNickname(),
+                    user.getRole(), user.getProvider(), user.getProviderId());
+        }
+
+        CachedUser withPasswordHash(String hash) {
+            return new CachedUser(id, email, hash, nickname, role, provider, providerId);
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+
+        User toUser() {
+            return User.builder().id(id).email(email).password(passwordHash).nickname(nickname)
+                    .role(role).provider(provider).providerId(providerId).build();
+        }
+    }
+
+    public AuthService(UserRepository userRepository, PasswordHasher passwordHasher,
+                       @Value("${resumepro.auth.user-cache.max-size:10000}") long userCacheMaxSize,
+                       @Value("${resumepro.auth.user-cache.ttl:1m}") Duration userCacheTtl) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(userCacheMaxSize)
+                .expireAfterWrite(userCacheTtl)
+                .build();
+    }
+
+    // 해시 계산 동안 트랜잭션(DB 커넥션)을 잡지 않는다. 중복 이메일은 unique 인덱스 위반으로 판단한다.
+    public void signup(User user) {
+        user.setPassword(passwordHasher.encode(user.getPassword()));
         user.setRole("ROLE_USER");
         user.setProvider("local");
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("이미 존재하는 이메일입니다.");
+        }
     }
 
     public User login(String email, String password) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        CachedUser user = cachedUser(email);
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHasher.matches(password, user.passwordHash())) {
             throw new RuntimeException("비밀번호가 일치하지 않습니다.");
         }
 
+        // 예전 방식(접두어 없는 해시, 낮은 강도)으로 저장된 비밀번호는 로그인 성공 시 현재 설정으로 다시 저장한다.
+        if (passwordHasher.needsUpgrade(user.passwordHash())) {
+            user = upgradePassword(user, password);
+        }
+
+        return user.toUser();
+    }
+
+    public User getUser(String email) {
+        return cachedUser(email).toUser();
+    }
+
+    private CachedUser cachedUser(String email) {
+        CachedUser user = users.get(email, key -> userRepository.findByEmail(key).map(CachedUser::from).orElse(null));
+        if (user == null) {
+            throw new RuntimeException("사용자를 찾을 수 없습니다.");
+        }
         return user;
     }
 
@@ -41,5 +96,21 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
         userRepository.delete(user);
+        users.invalidate(email);
+    }
+
+    private CachedUser upgradePassword(CachedUser user, String rawPassword) {
+        try {
+            String encoded = passwordHasher.encode(rawPassword);
+            userRepository.updatePassword(user.id(), encoded);
+            CachedUser upgraded = user.withPasswordHash(encoded);
+            users.put(user.email(), upgraded);
+            return upgraded;
+        } catch (DataAccessException | AuthUnavailableException e) {
+            // 다음 로그인에서 다시 시도하면 되므로 로그인 자체는 성공시킨다.
+            log.warn("비밀번호 해시 갱신 실패: userId={}", user.id(), e);
+            users.invalidate(user.email());
+            return user;
+        }
     }
 }
@@ -0,0 +1,11 @@
+package org.example.resumepro.service;
+
+/**
+ * 인증 처리(비밀번호 해시 풀)를 지금 쓸 수 없음 (대기열 포화, 시간 초과). HTTP 503 + Retry-After로 변환된다.
+ */
+public class AuthUnavailableException extends RuntimeException {
+
+    public AuthUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
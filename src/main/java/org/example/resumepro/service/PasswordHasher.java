@@ -0,0 +1,88 @@
+package org.example.resumepro.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 해시 계산(BCrypt 등)을 전용 풀에서 실행한다. 로그인이 몰려도 해시 계산이 쓰는 코어 수는
+ * threads로 제한되어 다른 요청 처리를 밀어내지 않고, 대기열이 가득 차면 바로 거절한다.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer hashTimer;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${resumepro.auth.hashing.threads:0}") int threads,
+                          @Value("${resumepro.auth.hashing.queue-capacity:256}") int queueCapacity,
+                          @Value("${resumepro.auth.hashing.timeout:5s}") Duration timeout,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        // 0이면 코어의 절반 (최소 1)
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.hashTimer = Timer.builder("resumepro.auth.hash").register(meterRegistry);
+        Gauge.builder("resumepro.auth.hash.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // 저장된 해시가 현재 설정(알고리즘, 강도)보다 약하면 true (해시 계산 없이 접두어/강도만 본다)
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.record(task));
+        } catch (RejectedExecutionException e) {
+            throw new AuthUnavailableException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.", e);
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new AuthUnavailableException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthUnavailableException("비밀번호 확인이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.resumepro.storage;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// String 필드를 TextCompression 형식의 BLOB으로 저장한다.
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return text == null ? null : TextCompression.compress(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return stored == null ? null : TextCompression.decompress(stored);
+    }
+}
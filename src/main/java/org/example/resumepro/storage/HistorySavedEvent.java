@@ -0,0 +1,12 @@
+package org.example.resumepro.storage;
+
+import org.example.resumepro.entity.ResumeHistory;
+
+import java.util.List;
+
+/**
+ * 쓰기 버퍼가 이력을 DB에 커밋한 뒤 발행하는 이벤트 (검색 색인 등 후속 처리용).
+ * 항목에는 id가 채워져 있고 본문(resumeContent)도 메모리에 올라와 있다.
+ */
+public record HistorySavedEvent(List<ResumeHistory> histories) {
+}
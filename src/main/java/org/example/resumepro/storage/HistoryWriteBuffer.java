@@ -0,0 +1,300 @@
+package org.example.resumepro.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.ResumeContentRepository;
+import org.example.resumepro.repository.ResumeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.jpa.JpaObjectRetrievalFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * ResumeHistory 쓰기 지연(write-behind) 버퍼.
+ * 분석 요청 스레드는 큐에 넣기만 하고, 전용 스레드가 batch-size개 또는 flush-interval마다 모아서
+ * 한 트랜잭션에서 JDBC 배치 INSERT로 저장한다 (시퀀스 기반 id라서 배치가 가능하다).
+ * <p>
+ * 실행 중 저장에 실패하면 호출자의 Future에 그 오류를 전달하고 보관하지 않는다 (호출자가 다시 요청한다).
+ * 종료 중에는 다시 요청할 호출자가 없으므로, 남은 항목과 저장에 실패한 항목을 spool 파일로 남겼다가
+ * 다음 시작 시 저장한다. 이 경우 호출자는 오류를 받았더라도 재시작 후 이력이 나타날 수 있다.
+ * 읽을 수 없는 spool 파일은 failed/ 디렉터리로 옮기고 나머지 파일은 계속 처리한다.
+ */
+@Slf4j
+@Component
+public class HistoryWriteBuffer {
+
+    private static final String SPOOL_PREFIX = "history-spool-";
+    private static final String QUARANTINE_DIR = "failed";
+
+    private final ResumeRepository resumeRepository;
+    private final ResumeContentRepository resumeContentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BlockingQueue<PendingWrite> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final int sequenceAllocationSize;
+    private final Path spoolDir;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Timer flushTimer;
+    private final Timer writeLatency;
+    private final DistributionSummary batchSizes;
+
+    public HistoryWriteBuffer(ResumeRepository resumeRepository,
+                              ResumeContentRepository resumeContentRepository,
+                              TransactionTemplate transactionTemplate,
+                              JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${resumepro.history.buffer.capacity:10000}") int capacity,
+                              @Value("${resumepro.history.buffer.batch-size:50}") int batchSize,
+                              @Value("${resumepro.history.buffer.flush-interval:50ms}") Duration flushInterval,
+                              @Value("${resumepro.history.buffer.spool-dir:${user.home}/.resumepro/history-spool}") Path spoolDir,
+                              MeterRegistry meterRegistry) {
+        this.resumeRepository = resumeRepository;
+        this.resumeContentRepository = resumeContentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.sequenceAllocationSize = ResumeHistory.ID_ALLOCATION_SIZE;
+        this.spoolDir = spoolDir;
+        this.flusher = new Thread(this::flushLoop, "history-write-buffer");
+        this.flusher.setDaemon(true);
+
+        Gauge.builder("resumepro.history.buffer.size", queue, BlockingQueue::size).register(meterRegistry);
+        this.flushTimer = Timer.builder("resumepro.history.flush").register(meterRegistry);
+        this.writeLatency = Timer.builder("resumepro.history.write.latency").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("resumepro.history.flush.batch.size").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        alignIdSequence();
+        replaySpool();
+        flusher.start();
+    }
+
+    /**
+     * 저장을 예약한다. 반환된 Future는 DB 커밋 후(id가 채워진 상태로) 완료된다.
+     * 버퍼가 가득 차면 호출 스레드에서 바로 저장한다 (백프레셔).
+     */
+    public CompletableFuture<ResumeHistory> enqueue(ResumeHistory history) {
+        PendingWrite write = new PendingWrite(history, System.nanoTime(), new CompletableFuture<>());
+        if (!running || !queue.offer(write)) {
+            flush(List.of(write));
+        }
+        return write.future();
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("이력 저장 배치 처리 실패", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        resumeRepository.saveAll(batch.stream().map(PendingWrite::history).toList()));
+            } catch (RuntimeException e) {
+                // DB 연결 실패(CannotCreateTransactionException), 커밋 실패(TransactionSystemException) 포함
+                if (!running) {
+                    spool(batch);
+                }
+                batch.forEach(write -> write.future().completeExceptionally(e));
+                return;
+            } finally {
+                flushTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                batchSizes.record(batch.size());
+            }
+
+            long now = System.nanoTime();
+            for (PendingWrite write : batch) {
+                writeLatency.record(Duration.ofNanos(now - write.enqueuedAt()));
+                write.future().complete(write.history());
+            }
+        } finally {
+            // 어떤 경로로 끝나든 기다리는 호출자가 남지 않게 한다.
+            IllegalStateException unknown = new IllegalStateException("이력 저장 결과를 확인하지 못했습니다.");
+            batch.forEach(write -> write.future().completeExceptionally(unknown));
+        }
+
+        // 검색 색인 등 후속 처리 (리스너 실패가 저장 결과에 영향을 주지 않도록 완료 후에 알린다)
+        try {
+            eventPublisher.publishEvent(new HistorySavedEvent(batch.stream().map(PendingWrite::history).toList()));
+        } catch (RuntimeException e) {
+            log.warn("이력 저장 이벤트 처리 실패: {}건", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        // 제한 시간 안에 비우지 못한 항목은 파일로 남기고, 기다리는 호출자에게는 바로 저장되지 않았음을 알린다.
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spool(remaining);
+            IllegalStateException spooled = new IllegalStateException("종료 중이라 이력을 저장하지 못했습니다. 다음 시작 시 저장됩니다.");
+            remaining.forEach(write -> write.future().completeExceptionally(spooled));
+        }
+    }
+
+    /**
+     * IDENTITY에서 시퀀스(MySQL에서는 resume_history_seq 테이블)로 바꾼 뒤 기존 id와 겹치지 않도록,
+     * 시퀀스 값을 현재 최대 id + 할당 크기 이상으로 맞춘다. 시퀀스를 네이티브로 지원하는 DB면 건너뛴다.
+     */
+    private void alignIdSequence() {
+        try {
+            jdbcTemplate.update("update resume_history_seq set next_val = greatest(next_val, " +
+                    "(select coalesce(max(id), 0) + ? from resume_history))", sequenceAllocationSize + 1);
+        } catch (DataAccessException e) {
+            log.debug("resume_history_seq 정렬 건너뜀: {}", e.getMessage());
+        }
+    }
+
+    private void spool(List<PendingWrite> batch) {
+        Path file = spoolDir.resolve(SPOOL_PREFIX + System.currentTimeMillis() + "-" + System.nanoTime() + ".jsonl");
+        try {
+            Files.createDirectories(spoolDir);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE_NEW)) {
+                for (PendingWrite write : batch) {
+                    writer.write(objectMapper.writeValueAsString(SpooledHistory.from(write.history())));
+                    writer.newLine();
+                }
+            }
+            log.warn("이력 {}건을 DB에 저장하지 못해 {}에 보관했습니다.", batch.size(), file);
+        } catch (IOException e) {
+            log.error("이력 {}건을 보관하지 못했습니다.", batch.size(), e);
+        }
+    }
+
+    private void replaySpool() {
+        if (!Files.isDirectory(spoolDir)) return;
+        List<Path> spoolFiles;
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            spoolFiles = files.filter(Files::isRegularFile)
+                    .filter(f -> f.getFileName().toString().startsWith(SPOOL_PREFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.error("보관된 이력 목록을 읽지 못했습니다: {}", spoolDir, e);
+            return;
+        }
+
+        for (Path file : spoolFiles) {
+            try {
+                List<ResumeHistory> histories = new ArrayList<>();
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) continue;
+                    SpooledHistory spooled = objectMapper.readValue(line, SpooledHistory.class);
+                    histories.add(spooled.toEntity(resumeContentRepository));
+                }
+                transactionTemplate.executeWithoutResult(status -> resumeRepository.saveAll(histories));
+                Files.delete(file);
+                log.info("보관된 이력 {}건을 저장했습니다: {}", histories.size(), file);
+            } catch (IOException | DataIntegrityViolationException | JpaObjectRetrievalFailureException e) {
+                // 깨진 줄, 없는 resume_content 참조 등 다시 시도해도 실패할 파일은 옮겨 두고 다음 파일로 넘어간다.
+                quarantine(file, e);
+            } catch (RuntimeException e) {
+                // DB에 연결할 수 없는 등 일시적인 실패는 남은 파일과 함께 다음 시작 시 다시 시도한다.
+                log.error("보관된 이력을 다시 저장하지 못했습니다: {}", file, e);
+                return;
+            }
+        }
+    }
+
+    private void quarantine(Path file, Exception cause) {
+        try {
+            Path dir = Files.createDirectories(spoolDir.resolve(QUARANTINE_DIR));
+            Files.move(file, dir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            log.error("보관된 이력 파일을 저장할 수 없어 {}로 옮겼습니다: {}", dir, file.getFileName(), cause);
+        } catch (IOException e) {
+            log.error("보관된 이력 파일을 옮기지 못했습니다: {}", file, e);
+        }
+    }
+
+    private record PendingWrite(ResumeHistory history, long enqueuedAt, CompletableFuture<ResumeHistory> future) {
+    }
+
+    // spool 파일 한 줄 (이력서 본문은 resume_content에 이미 있으므로 해시만 남긴다)
+    record SpooledHistory(String userEmail, String resumeContentHash, String aiResponse,
+                          String contentHash, Boolean cacheable, Boolean complete, String preview, LocalDateTime createdAt) {
+
+        static SpooledHistory from(ResumeHistory history) {
+            return new SpooledHistory(history.getUserEmail(),
+                    history.getResumeContent() != null ? history.getResumeContent().getHash() : null,
+                    history.getAiResponse(), history.getContentHash(), history.getCacheable(), history.getComplete(),
+                    history.getPreview(), history.getCreatedAt());
+        }
+
+        ResumeHistory toEntity(ResumeContentRepository resumeContentRepository) {
+            return ResumeHistory.builder()
+                    .userEmail(userEmail)
+                    .resumeContent(resumeContentHash != null ? resumeContentRepository.getReferenceById(resumeContentHash) : null)
+                    .aiResponse(aiResponse)
+                    .contentHash(contentHash)
+                    .cacheable(cacheable)
+                    .complete(complete)
+                    .preview(preview)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.resumepro.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.example.resumepro.ai.ResumeFingerprint;
+import org.example.resumepro.entity.ResumeContent;
+import org.example.resumepro.repository.ResumeContentRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class ResumeContentService {
+
+    private final ResumeContentRepository resumeContentRepository;
+
+    /**
+     * 같은 본문이 이미 저장되어 있으면 그 행을, 없으면 새로 저장한 행을 돌려준다.
+     * 동시에 같은 본문이 들어와 PK 충돌이 나면 먼저 저장된 행을 다시 읽는다.
+     * 충돌이 호출자의 트랜잭션을 롤백 전용으로 만들지 않도록 호출자 트랜잭션을 잠시 중단하고,
+     * 조회/저장은 각각 저장소 메서드의 짧은 트랜잭션으로 실행한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResumeContent intern(String text) {
+        String hash = ResumeFingerprint.sha256(text);
+        return resumeContentRepository.findById(hash).orElseGet(() -> {
+            try {
+                return resumeContentRepository.saveAndFlush(ResumeContent.builder().hash(hash).text(text).build());
+            } catch (DataIntegrityViolationException e) {
+                return resumeContentRepository.findById(hash).orElseThrow(() -> e);
+            }
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.resumepro.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.resumepro.entity.ResumeContent;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.ResumeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 압축 저장 도입 전 행(LONGTEXT 컬럼)을 압축 저장소로 옮기는 백필 작업.
+ * id 순 키셋으로 batch-size개씩 짧은 트랜잭션에서 옮기고 배치 사이에 쉬므로,
+ * 테이블 전체를 잠그지 않고 한 번에 잠기는 행도 배치 크기로 제한된다.
+ */
+@Slf4j
+@Component
+public class ResumeStorageBackfill {
+
+    private final ResumeRepository resumeRepository;
+    private final ResumeContentService resumeContentService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pause;
+
+    public ResumeStorageBackfill(ResumeRepository resumeRepository,
+                                 ResumeContentService resumeContentService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${resumepro.storage.backfill.enabled:true}") boolean enabled,
+                                 @Value("${resumepro.storage.backfill.batch-size:200}") int batchSize,
+                                 @Value("${resumepro.storage.backfill.pause:200ms}") Duration pause) {
+        this.resumeRepository = resumeRepository;
+        this.resumeContentService = resumeContentService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread.ofVirtual().name("resume-storage-backfill").start(this::run);
+        }
+    }
+
+    void run() {
+        long lastId = 0;
+        int migrated = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = resumeRepository.findLegacyStorageIds(lastId, Limit.of(batchSize));
+            if (ids.isEmpty()) break;
+
+            transactionTemplate.executeWithoutResult(status -> migrateBatch(ids));
+            lastId = ids.get(ids.size() - 1);
+            migrated += ids.size();
+
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (migrated > 0) {
+            log.info("이력 압축 저장소 백필 완료: {}건", migrated);
+        }
+    }
+
+    private void migrateBatch(List<Long> ids) {
+        for (ResumeHistory history : resumeRepository.findAllById(ids)) {
+            String legacyResume = history.getLegacyUserResume();
+            ResumeContent content = legacyResume != null ? resumeContentService.intern(legacyResume) : null;
+            history.moveToCompressedStorage(content);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.resumepro.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 텍스트 압축 코덱. 저장 형식은 [형식 버전 1바이트][본문]이다.
+ * 버전 0: 압축하지 않은 UTF-8 (짧아서 압축 이득이 없는 경우)
+ * 버전 1: Deflate(raw, zlib 헤더 없음)로 압축한 UTF-8
+ * 이후 코덱을 바꾸더라도 버전 바이트로 기존 데이터를 계속 읽을 수 있다.
+ */
+public final class TextCompression {
+
+    static final byte RAW = 0;
+    static final byte DEFLATE = 1;
+
+    // 이보다 짧은 텍스트는 압축하지 않는다.
+    private static final int MIN_COMPRESS_BYTES = 256;
+
+    private TextCompression() {
+    }
+
+    public static byte[] compress(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESS_BYTES) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length < utf8.length) {
+                return withVersion(DEFLATE, deflated);
+            }
+        }
+        return withVersion(RAW, utf8);
+    }
+
+    public static String decompress(byte[] stored) {
+        if (stored.length == 0) {
+            throw new IllegalArgumentException("압축 데이터가 비어 있습니다.");
+        }
+        byte[] body = Arrays.copyOfRange(stored, 1, stored.length);
+        return switch (stored[0]) {
+            case RAW -> new String(body, StandardCharsets.UTF_8);
+            case DEFLATE -> new String(inflate(body), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("알 수 없는 압축 형식 버전: " + stored[0]);
+        };
+    }
+
+    private static byte[] withVersion(byte version, byte[] body) {
+        byte[] stored = new byte[body.length + 1];
+        stored[0] = version;
+        System.arraycopy(body, 0, stored, 1, body.length);
+        return stored;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("압축 데이터가 손상되었습니다.");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("압축 데이터가 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.resumepro.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * AI 응답에 남아있는 마크다운 기호를 제거하는 유틸리티.
+ * 패턴은 한 번만 컴파일해서 재사용하고, 스트리밍 응답은 {@link Incremental}로 청크 단위 처리한다.
+ */
+public final class MarkdownCleaner {
+
+    private static final Pattern MARKDOWN_SYMBOLS = Pattern.compile("[#*`]");
+
+    private MarkdownCleaner() {
+    }
+
+    // 마크다운 기호(#, *, `) 제거 + 목록 기호(- )를 •로 치환
+    public static String clean(String text) {
+        return stripSymbols(text).replace("- ", "• ");
+    }
+
+    // 마크다운 기호(#, *, `)만 제거
+    public static String stripSymbols(String text) {
+        return MARKDOWN_SYMBOLS.matcher(text).replaceAll("");
+    }
+
+    public static Incremental incremental() {
+        return new Incremental();
+    }
+
+    /**
+     * 스트리밍 청크용 클리너. "- "가 청크 경계에서 잘려 들어오는 경우를 위해
+     * 마지막 '-'를 다음 청크까지 보류한다. 스레드 안전하지 않으므로 스트림마다 새로 만든다.
+     */
+    public static final class Incremental {
+
+        private boolean pendingDash;
+
+        private Incremental() {
+        }
+
+        public String apply(String chunk) {
+            String text = pendingDash ? "-" + chunk : chunk;
+            pendingDash = text.endsWith("-");
+            if (pendingDash) {
+                text = text.substring(0, text.length() - 1);
+            }
+            return clean(text);
+        }
+
+        // 스트림 종료 시 보류 중인 문자를 내보낸다.
+        public String flush() {
+            String rest = pendingDash ? "-" : "";
+            pendingDash = false;
+            return rest;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptBuilderTest {
+
+    @Test
+    void normalizeRemovesPageNumbersAndRunningHeaders() {
+        String extracted = "홍길동 이력서\n\n경력\n백엔드 개발 3년\n- 1 -\n\f"
+                + "홍길동 이력서\n프로젝트\n결제 시스템 개편\nPage 2 of 3\n\f"
+                + "홍길동 이력서\n자격증\n정보처리기사\n3 / 3\n\f";
+
+        String normalized = PromptBuilder.normalize(extracted);
+
+        assertEquals("홍길동 이력서\n\n경력\n백엔드 개발 3년\n\n프로젝트\n결제 시스템 개편\n\n자격증\n정보처리기사", normalized);
+    }
+
+    @Test
+    void normalizeCollapsesWhitespaceAndComposesHangul() {
+        // macOS에서 만든 PDF처럼 자모가 분리된(NFD) 한글, 연속 공백, CRLF, 폭 없는 공백
+        String decomposed = Normalizer.normalize("백엔드", Normalizer.Form.NFD);
+        String text = "  " + decomposed + "\u200B   개발자 \r\n\r\n\r\n\r\n경력\t\t3년  ";
+
+        assertEquals("백엔드 개발자\n\n경력 3년", PromptBuilder.normalize(text));
+    }
+
+    @Test
+    void numbersInsideSentencesAreKept() {
+        String text = "2023년 입사\n트래픽 30% 개선\n12";
+
+        assertEquals("2023년 입사\n트래픽 30% 개선", PromptBuilder.normalize(text));
+    }
+
+    @Test
+    void fitKeepsTextWithinBudget() {
+        assertEquals("짧은 이력서", PromptBuilder.fit("짧은 이력서", 100));
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 40; i++) {
+            text.append("[프로젝트 ").append(i).append("]\n")
+                    .append("대용량 트래픽을 처리하는 주문 시스템의 응답 시간을 개선했습니다 ").append(i).append("\n\n");
+        }
+
+        String fitted = PromptBuilder.fit(text.toString().strip(), 300);
+
+        assertTrue(TokenEstimator.estimate(fitted) <= 300, fitted);
+        assertTrue(fitted.startsWith("[프로젝트 1]\n대용량 트래픽"), fitted);
+        // 예산을 넘긴 뒤쪽 문단은 제목만 남는다.
+        assertTrue(fitted.contains("[프로젝트 40]"), fitted);
+        assertFalse(fitted.contains("개선했습니다 40"), fitted);
+        assertTrue(fitted.endsWith(PromptBuilder.OMITTED), fitted);
+    }
+
+    @Test
+    void fitCutsSingleLongLine() {
+        String line = "가".repeat(3000);
+
+        String fitted = PromptBuilder.fit(line, 500);
+
+        assertTrue(TokenEstimator.estimate(fitted) <= 500, fitted);
+        assertTrue(fitted.startsWith("가가가"), fitted);
+    }
+
+    @Test
+    void fitDropsDuplicatedSentencesFirst() {
+        String sentence = "Spring Boot 기반 결제 서비스의 장애 대응 프로세스를 설계했습니다.";
+        String text = (sentence + "\n").repeat(20) + "\n마지막 문단";
+
+        String fitted = PromptBuilder.fit(text, TokenEstimator.estimate(sentence + "마지막 문단") + 40);
+
+        assertEquals(1, fitted.split(Pattern.quote(sentence), -1).length - 1, fitted);
+        assertTrue(fitted.contains("마지막 문단"), fitted);
+    }
+
+    @Test
+    void savedTokensAreRecordedPerPurpose() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PromptBuilder builder = new PromptBuilder(50, 50, registry);
+
+        String prompt = builder.analysisPrompt("경력 요약\n\n" + "프로젝트 상세 설명 문장입니다.\n".repeat(40));
+
+        assertTrue(TokenEstimator.estimate(prompt) <= 50, prompt);
+        var saved = registry.get("resumepro.prompt.tokens.saved").tag("purpose", "analysis").summary();
+        assertEquals(1, saved.count());
+        assertTrue(saved.totalAmount() > 0);
+        assertEquals(1, registry.get("resumepro.prompt.truncated").tag("purpose", "analysis").counter().count());
+    }
+}
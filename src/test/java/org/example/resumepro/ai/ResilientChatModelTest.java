@@ -0,0 +1,128 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientChatModelTest {
+
+    private static final String SECONDARY = "stub-secondary";
+    private static final UnaryOperator<Prompt> TO_SECONDARY =
+            prompt -> new Prompt(prompt.getInstructions(), ChatOptions.builder().model(SECONDARY).build());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ResilientChatModel resilient(StubChatModel stub, Duration callTimeout, double hedgePercentile) {
+        return new ResilientChatModel(stub,
+                new ResilientChatModel.Settings(callTimeout, Duration.ofSeconds(1), Duration.ofSeconds(1),
+                        10, 5, 0.5, Duration.ofMinutes(1), hedgePercentile, Duration.ofMillis(50)),
+                TO_SECONDARY, meterRegistry);
+    }
+
+    @Test
+    void slowCallTimesOut() {
+        StubChatModel stub = new StubChatModel("ok").latency(StubChatModel.DEFAULT_MODEL, Duration.ofSeconds(5));
+        ResilientChatModel model = resilient(stub, Duration.ofMillis(200), 0);
+
+        long start = System.nanoTime();
+        assertThrows(LlmUnavailableException.class, () -> model.call(new Prompt("질문")));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+
+    @Test
+    void circuitOpensAfterRepeatedFailuresAndFailsFast() {
+        StubChatModel stub = new StubChatModel("ok").failing(StubChatModel.DEFAULT_MODEL, true);
+        ResilientChatModel model = resilient(stub, Duration.ofSeconds(1), 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalStateException.class, () -> model.call(new Prompt("질문")));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, model.getCircuitState());
+
+        int callsBefore = stub.calls();
+        assertThrows(LlmUnavailableException.class, () -> model.call(new Prompt("질문")));
+        assertEquals(callsBefore, stub.calls(), "회로가 열리면 업스트림을 호출하지 않아야 합니다.");
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        StubChatModel stub = new StubChatModel("ok").rejecting(StubChatModel.DEFAULT_MODEL, true);
+        ResilientChatModel model = resilient(stub, Duration.ofSeconds(1), 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IllegalArgumentException.class, () -> model.call(new Prompt("질문")));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, model.getCircuitState());
+    }
+
+    @Test
+    void halfOpenTrialIsReleasedWhenStreamSetupThrows() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel broken = new ChatModel() {
+            @Override
+            public ChatResponse call(Prompt prompt) {
+                calls.incrementAndGet();
+                throw new IllegalStateException("upstream", new IOException("connection reset"));
+            }
+
+            @Override
+            public Flux<ChatResponse> stream(Prompt prompt) {
+                calls.incrementAndGet();
+                throw new IllegalArgumentException("잘못된 요청");
+            }
+        };
+        ResilientChatModel model = new ResilientChatModel(broken,
+                new ResilientChatModel.Settings(Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1),
+                        10, 5, 0.5, Duration.ofMillis(50), 0, Duration.ofMillis(50)),
+                null, meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalStateException.class, () -> model.call(new Prompt("질문")));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, model.getCircuitState());
+        Thread.sleep(100);
+
+        // HALF_OPEN 시험 호출이 구독 전에 실패해도 자리를 반납해, 다음 호출이 업스트림까지 간다.
+        assertThrows(IllegalArgumentException.class, () -> model.stream(new Prompt("질문")).blockLast());
+        int before = calls.get();
+        assertThrows(IllegalStateException.class, () -> model.call(new Prompt("질문")));
+        assertEquals(before + 1, calls.get());
+    }
+
+    @Test
+    void slowPrimaryIsHedgedToSecondaryModel() {
+        StubChatModel stub = new StubChatModel("ok").latency(StubChatModel.DEFAULT_MODEL, Duration.ofMillis(10));
+        ResilientChatModel model = resilient(stub, Duration.ofSeconds(3), 0.9);
+
+        // 지연 표본을 쌓은 뒤 기본 모델만 느려지게 한다.
+        for (int i = 0; i < 25; i++) {
+            model.call(new Prompt("질문"));
+        }
+        stub.latency(StubChatModel.DEFAULT_MODEL, Duration.ofSeconds(2));
+
+        long start = System.nanoTime();
+        String answer = model.call(new Prompt("질문")).getResult().getOutput().getText();
+
+        assertEquals("ok:" + SECONDARY, answer);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+        assertEquals(1, meterRegistry.counter("resumepro.llm.hedge.wins").count());
+    }
+
+    @Test
+    void streamFailsWhenFirstChunkIsLate() {
+        StubChatModel stub = new StubChatModel("느린 답변").latency(StubChatModel.DEFAULT_MODEL, Duration.ofSeconds(3));
+        ResilientChatModel model = resilient(stub, Duration.ofSeconds(5), 0);
+
+        assertThrows(LlmUnavailableException.class, () -> model.stream(new Prompt("질문")).blockLast());
+    }
+}
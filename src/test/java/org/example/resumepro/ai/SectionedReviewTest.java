@@ -0,0 +1,86 @@
+package org.example.resumepro.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SectionedReviewTest {
+
+    private static final Duration SECTION_LATENCY = Duration.ofMillis(300);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 시스템 지침에 들어있는 카테고리 이름을 그대로 답한다. failingTitle 카테고리는 실패한다.
+    private SectionedReview review(String failingTitle) {
+        ChatModel model = prompt -> {
+            String system = prompt.getSystemMessage().getText();
+            sleep(SECTION_LATENCY);
+            for (SectionedReview.Section section : SectionedReview.SECTIONS) {
+                if (system.contains("[" + section.title() + "]")) {
+                    if (section.title().equals(failingTitle)) {
+                        throw new IllegalStateException("stub failure: " + section.key());
+                    }
+                    return new ChatResponse(List.of(new Generation(
+                            new AssistantMessage("[" + section.title() + "]\n" + section.key() + " 내용"))));
+                }
+            }
+            throw new IllegalStateException("unknown section");
+        };
+        return new SectionedReview(ChatClient.create(model), true, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    void sectionsRunConcurrentlyAndMergeInFixedOrder() {
+        long start = System.nanoTime();
+        SectionedReview.Result result = review(null).review("이력서");
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(result.complete());
+        assertEquals("""
+                [강점]
+                strengths 내용
+
+                [약점]
+                weaknesses 내용
+
+                [개선 방향]
+                improvements 내용
+
+                [보완점]
+                supplements 내용
+
+                [면접 전략]
+                interview 내용""", result.text());
+        // 순차라면 5 x 300ms, 동시라면 가장 느린 카테고리 하나 정도
+        assertTrue(elapsedMillis < SECTION_LATENCY.toMillis() * 3, "elapsed " + elapsedMillis + "ms");
+        assertEquals(5, meterRegistry.find("resumepro.analysis.section").tag("outcome", "success").timers().size());
+    }
+
+    @Test
+    void failedSectionDegradesOnlyThatSection() {
+        SectionedReview.Result result = review("약점").review("이력서");
+
+        assertFalse(result.complete());
+        assertTrue(result.text().contains("[약점]\n" + SectionedReview.DEGRADED), result.text());
+        assertTrue(result.text().contains("strengths 내용"));
+        assertTrue(result.text().contains("interview 내용"));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+}
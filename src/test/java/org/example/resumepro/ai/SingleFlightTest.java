@@ -0,0 +1,79 @@
+package org.example.resumepro.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> singleFlight.execute("key", Duration.ofSeconds(5), () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "result";
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("result", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        pool.shutdown();
+    }
+
+    @Test
+    void leaderFailureIsPropagatedToFollowers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        Future<String> leader = pool.submit(() -> singleFlight.execute("key", Duration.ofSeconds(5), () -> {
+            await(release);
+            throw new IllegalArgumentException("upstream failure");
+        }));
+        Thread.sleep(100);
+        Future<String> follower = pool.submit(() -> singleFlight.execute("key", Duration.ofSeconds(5), () -> "unused"));
+        Thread.sleep(100);
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, leaderError.getCause());
+        assertInstanceOf(IllegalArgumentException.class, followerError.getCause());
+        pool.shutdown();
+    }
+
+    @Test
+    void keyIsReleasedAfterCompletion() {
+        assertEquals("first", singleFlight.execute("key", Duration.ofSeconds(1), () -> "first"));
+        assertEquals("second", singleFlight.execute("key", Duration.ofSeconds(1), () -> "second"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.resumepro.ai;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 네트워크 없이 쓰는 테스트용 ChatModel. 모델 이름(ChatOptions.model)별로 지연과 실패 여부를 정할 수 있다.
+ * failing은 업스트림 장애(연결 오류), rejecting은 요청 자체의 오류(4xx)처럼 실패한다.
+ */
+public class StubChatModel implements ChatModel {
+
+    public static final String DEFAULT_MODEL = "stub-primary";
+
+    private final String response;
+    private final Map<String, Duration> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> failing = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> rejecting = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    public StubChatModel(String response) {
+        this.response = response;
+    }
+
+    public StubChatModel latency(String model, Duration latency) {
+        latencies.put(model, latency);
+        return this;
+    }
+
+    public StubChatModel failing(String model, boolean fail) {
+        failing.put(model, fail);
+        return this;
+    }
+
+    public StubChatModel rejecting(String model, boolean reject) {
+        rejecting.put(model, reject);
+        return this;
+    }
+
+    public int calls() {
+        return calls.get();
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        calls.incrementAndGet();
+        String model = modelOf(prompt);
+        sleep(latencies.getOrDefault(model, Duration.ZERO));
+        if (failing.getOrDefault(model, false)) {
+            throw failure(model);
+        }
+        if (rejecting.getOrDefault(model, false)) {
+            throw new IllegalArgumentException("stub rejected: " + model);
+        }
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(response + ":" + model))));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        String model = modelOf(prompt);
+        Flux<ChatResponse> chunks = Flux.fromArray(response.split("(?<=\\s)"))
+                .map(chunk -> new ChatResponse(List.of(new Generation(new AssistantMessage(chunk)))));
+        Flux<ChatResponse> delayed = chunks.delaySubscription(latencies.getOrDefault(model, Duration.ZERO));
+        return Flux.defer(() -> {
+            calls.incrementAndGet();
+            return failing.getOrDefault(model, false)
+                    ? Flux.error(failure(model))
+                    : delayed;
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return ChatOptions.builder().model(DEFAULT_MODEL).build();
+    }
+
+    private static RuntimeException failure(String model) {
+        return new IllegalStateException("stub failure: " + model, new IOException("connection reset"));
+    }
+
+    private static String modelOf(Prompt prompt) {
+        ChatOptions options = prompt.getOptions();
+        return options != null && options.getModel() != null ? options.getModel() : DEFAULT_MODEL;
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) return;
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.resumepro.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.resumepro.ai.RateLimitExceededException;
+import org.example.resumepro.dto.BatchItemProgress;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.pdf.DocumentExtractionException;
+import org.example.resumepro.service.AiService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchAnalysisServiceTest {
+
+    private static final String EMAIL = "recruiter@resumepro.test";
+
+    private final AiService aiService = mock(AiService.class);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final AtomicLong historyIds = new AtomicLong();
+    private BatchAnalysisService service;
+
+    private BatchAnalysisService service(int maxItems, DataSize maxEntrySize) {
+        return service(maxItems, maxEntrySize, 1000, Duration.ofMillis(1));
+    }
+
+    private BatchAnalysisService service(int maxItems, DataSize maxEntrySize, int quotaCapacity, Duration quotaRefill) {
+        service = new BatchAnalysisService(aiService, messagingTemplate, maxItems, maxEntrySize, 2, 3, 8, 3,
+                Duration.ofMillis(10), Duration.ofMinutes(5), quotaCapacity, quotaRefill, new SimpleMeterRegistry());
+        // 파일 내용을 그대로 이력서 텍스트로 쓰고, 분석은 순번 id로 저장된 것처럼 돌려준다.
+        when(aiService.extractTextFromPdf(any())).thenAnswer(invocation -> {
+            MultipartFile file = invocation.getArgument(0);
+            return new String(file.getBytes(), StandardCharsets.UTF_8);
+        });
+        when(aiService.analyzeAndSave(anyString(), eq(EMAIL))).thenAnswer(invocation ->
+                ResumeHistory.builder().id(historyIds.incrementAndGet()).build());
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    void zipEntriesAreExtractedAnalyzedAndReported() throws Exception {
+        byte[] zip = zip(Map.of(
+                "a.pdf", "이력서 A",
+                "dir/b.pdf", "이력서 B",
+                "__MACOSX/._a.pdf", "메타데이터",
+                "c.pdf", "이력서 C"));
+
+        AnalysisBatch batch = service(10, DataSize.ofMegabytes(1)).submitZip(new ByteArrayInputStream(zip), EMAIL);
+
+        awaitDone(batch);
+        assertEquals(3, batch.getTotal());
+        assertTrue(batch.getItems().stream().allMatch(item -> item.getStatus() == AnalysisBatch.Status.SUCCEEDED));
+        assertTrue(batch.getItems().stream().allMatch(item -> item.getHistoryId() != null));
+        assertEquals(AnalysisBatch.Status.SUCCEEDED, status(batch, "dir/b.pdf"));
+        verify(messagingTemplate, atLeast(3)).convertAndSend(eq("/topic/batches/" + batch.getId()),
+                any(BatchItemProgress.class));
+        assertSame(batch, service.getBatch(batch.getId(), EMAIL));
+        assertThrows(IllegalArgumentException.class, () -> service.getBatch(batch.getId(), "other@resumepro.test"));
+    }
+
+    @Test
+    void failuresStayOnTheirItem() throws Exception {
+        service(10, DataSize.ofBytes(100));
+        doThrow(new DocumentExtractionException("문서에서 내용을 읽을 수 없습니다."))
+                .when(aiService).extractTextFromPdf(argThat(file -> "broken.pdf".equals(file.getOriginalFilename())));
+        // 일시적 오류는 다시 시도해서 성공한다.
+        AtomicInteger throttled = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (throttled.getAndIncrement() == 0) {
+                throw new RateLimitExceededException("요청이 많습니다.", Duration.ofMillis(10));
+            }
+            return ResumeHistory.builder().id(historyIds.incrementAndGet()).build();
+        }).when(aiService).analyzeAndSave(eq("재시도 이력서"), eq(EMAIL));
+
+        byte[] zip = zip(Map.of(
+                "ok.pdf", "정상 이력서",
+                "broken.pdf", "깨진 파일",
+                "retry.pdf", "재시도 이력서",
+                "huge.pdf", "x".repeat(200)));
+        AnalysisBatch batch = service.submitZip(new ByteArrayInputStream(zip), EMAIL);
+
+        awaitDone(batch);
+        assertEquals(AnalysisBatch.Status.SUCCEEDED, status(batch, "ok.pdf"));
+        assertEquals(AnalysisBatch.Status.FAILED, status(batch, "broken.pdf"));
+        assertEquals(AnalysisBatch.Status.SUCCEEDED, status(batch, "retry.pdf"));
+        assertEquals(AnalysisBatch.Status.FAILED, status(batch, "huge.pdf"));
+    }
+
+    @Test
+    void itemsBeyondLimitAreNotRead() throws Exception {
+        byte[] zip = zip(Map.of("1.pdf", "일", "2.pdf", "이", "3.pdf", "삼"));
+
+        AnalysisBatch batch = service(2, DataSize.ofMegabytes(1)).submitZip(new ByteArrayInputStream(zip), EMAIL);
+
+        awaitDone(batch);
+        assertEquals(2, batch.getTotal());
+        assertTrue(batch.isTruncated());
+    }
+
+    @Test
+    void itemsArePacedByTheUsersBatchQuota() throws Exception {
+        byte[] zip = zip(Map.of("1.pdf", "일", "2.pdf", "이", "3.pdf", "삼"));
+        long start = System.nanoTime();
+
+        // 연속 1건, 이후 100ms마다 1건: 항목 3개는 최소 200ms에 걸쳐 분석된다.
+        AnalysisBatch batch = service(10, DataSize.ofMegabytes(1), 1, Duration.ofMillis(100))
+                .submitZip(new ByteArrayInputStream(zip), EMAIL);
+
+        awaitDone(batch);
+        assertTrue(batch.getItems().stream().allMatch(item -> item.getStatus() == AnalysisBatch.Status.SUCCEEDED));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 180);
+    }
+
+    @Test
+    void failedUploadCancelsItemsNotYetAnalyzed() throws Exception {
+        // 네 번째 항목을 읽는 중에 연결이 끊긴 업로드
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int cut;
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 1; i <= 3; i++) {
+                zip.putNextEntry(new ZipEntry(i + ".pdf"));
+                zip.write(("이력서 " + i).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.flush();
+            cut = out.size() + 10;
+            zip.putNextEntry(new ZipEntry("4.pdf"));
+            zip.write("이력서 4".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        InputStream broken = new SequenceInputStream(new ByteArrayInputStream(out.toByteArray(), 0, cut), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("연결이 끊겼습니다.");
+            }
+        });
+
+        // 한도가 1건뿐이라 첫 항목 뒤의 항목은 100ms마다 한 건씩만 분석될 수 있다.
+        BatchAnalysisService paced = service(10, DataSize.ofMegabytes(1), 1, Duration.ofMillis(100));
+        assertThrows(IOException.class, () -> paced.submitZip(broken, EMAIL));
+
+        Thread.sleep(500);
+        verify(aiService, atMost(1)).analyzeAndSave(anyString(), eq(EMAIL));
+    }
+
+    @Test
+    void emptyArchiveIsRejected() {
+        BatchAnalysisService empty = service(10, DataSize.ofMegabytes(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> empty.submitZip(new ByteArrayInputStream(new byte[0]), EMAIL));
+    }
+
+    private static AnalysisBatch.Status status(AnalysisBatch batch, String fileName) {
+        return batch.getItems().stream()
+                .filter(item -> item.getFileName().equals(fileName))
+                .findFirst().orElseThrow()
+                .getStatus();
+    }
+
+    private static void awaitDone(AnalysisBatch batch) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!batch.isDone()) {
+            assertTrue(System.nanoTime() < deadline, "일괄 분석이 끝나지 않았습니다.");
+            Thread.sleep(10);
+        }
+    }
+
+    private static byte[] zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
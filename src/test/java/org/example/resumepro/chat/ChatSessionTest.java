@@ -0,0 +1,30 @@
+package org.example.resumepro.chat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatSessionTest {
+
+    @Test
+    void repeatedQuestionIsRecordedAsItsOwnTurn() {
+        ChatSession session = new ChatSession("맥락", "user@resumepro.test", 0, 3);
+
+        session.record("자기소개는 어떻게 고칠까요?", "경력 중심으로 줄이세요.");
+        session.record("자기소개는 어떻게 고칠까요?", "경력 중심으로 줄이세요.");
+
+        assertEquals(4, session.history().size());
+    }
+
+    @Test
+    void missingAnswerIsFoldedWithoutError() {
+        ChatSession session = new ChatSession("맥락", "user@resumepro.test", 0, 1);
+
+        session.record("첫 질문", null);
+        session.record("두 번째 질문", "답변");
+
+        // 창(1턴) 밖으로 밀려난 첫 턴은 요약 줄로 남는다.
+        assertEquals(2, session.history().size());
+        assertTrue(session.systemPrompt().contains("Q: 첫 질문 / A: (답변 없음)"), session.systemPrompt());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.resumepro.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatStreamsTest {
+
+    private final ChatStreams streams = new ChatStreams(new SimpleMeterRegistry());
+
+    @Test
+    void disconnectCancelsTheSessionsStreams() {
+        Disposable.Swap answer = streams.register("s1", "/topic/messages/1");
+        Disposable.Swap other = streams.register("s2", "/topic/messages/1");
+        answer.update(Flux.never().subscribe());
+        other.update(Flux.never().subscribe());
+
+        streams.onDisconnect(new SessionDisconnectEvent(this, frame(StompCommand.DISCONNECT, "s1", null, null),
+                "s1", CloseStatus.GOING_AWAY));
+
+        assertTrue(answer.isDisposed());
+        assertFalse(other.isDisposed());
+    }
+
+    @Test
+    void unsubscribingFromTheAnswerTopicCancelsOnlyThatStream() {
+        streams.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "s1", "sub-1", "/topic/messages/1")));
+        Disposable.Swap first = streams.register("s1", "/topic/messages/1");
+        Disposable.Swap second = streams.register("s1", "/topic/messages/2");
+        first.update(Flux.never().subscribe());
+        second.update(Flux.never().subscribe());
+
+        streams.onUnsubscribe(new SessionUnsubscribeEvent(this, frame(StompCommand.UNSUBSCRIBE, "s1", "sub-1", null)));
+
+        assertTrue(first.isDisposed());
+        assertFalse(second.isDisposed());
+    }
+
+    @Test
+    void streamRegisteredBeforeDisconnectIsCancelledWhenItSubscribes() {
+        Disposable.Swap answer = streams.register("s1", "/topic/messages/1");
+        streams.onDisconnect(new SessionDisconnectEvent(this, frame(StompCommand.DISCONNECT, "s1", null, null),
+                "s1", CloseStatus.GOING_AWAY));
+
+        Disposable upstream = Flux.never().subscribe();
+        answer.update(upstream);
+
+        assertTrue(upstream.isDisposed());
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) accessor.setSubscriptionId(subscriptionId);
+        if (destination != null) accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
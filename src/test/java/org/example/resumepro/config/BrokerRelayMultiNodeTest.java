@@ -0,0 +1,158 @@
+package org.example.resumepro.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.example.resumepro.dto.ChatMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketMessagingAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * relay 모드에서 한 노드가 발행한 /topic 메시지가 다른 노드에 연결된 클라이언트에게 전달되는지 확인한다.
+ * 외부 브로커 대신 STOMP acceptor를 연 내장 ActiveMQ Artemis를 쓰고, WebSocketConfig만 올린 노드 두 개를 띄운다.
+ */
+class BrokerRelayMultiNodeTest {
+
+    private EmbeddedActiveMQ broker;
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private WebSocketStompClient stompClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int stompPort = freePort();
+        broker = new EmbeddedActiveMQ().setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .setJMXManagementEnabled(false)
+                .addAcceptorConfiguration("stomp",
+                        "tcp://127.0.0.1:" + stompPort + "?protocols=STOMP&multicastPrefix=/topic/"));
+        broker.start();
+
+        nodeA = startNode(stompPort);
+        nodeB = startNode(stompPort);
+
+        stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+        if (broker != null) broker.stop();
+    }
+
+    @Test
+    void messagePublishedOnOneNodeReachesSubscriberOnAnother() throws Exception {
+        BlockingQueue<ChatMessage> received = new LinkedBlockingQueue<>();
+        StompSession session = stompClient
+                .connectAsync("http://localhost:" + port(nodeA) + "/ws-chat", new StompSessionHandlerAdapter() {
+                })
+                .get(10, TimeUnit.SECONDS);
+        session.subscribe("/topic/messages/1", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return ChatMessage.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((ChatMessage) payload);
+            }
+        });
+
+        // 구독이 브로커에 등록되기 전에 보낸 메시지는 유실되므로 도착할 때까지 다시 보낸다.
+        SimpMessagingTemplate publisherOnB = nodeB.getBean(SimpMessagingTemplate.class);
+        ChatMessage message = null;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (message == null && System.nanoTime() < deadline) {
+            publisherOnB.convertAndSend("/topic/messages/1", new ChatMessage("AI", "다른 노드에서 보낸 답변"));
+            message = received.poll(200, TimeUnit.MILLISECONDS);
+        }
+
+        assertNotNull(message, "노드 B에서 발행한 메시지가 노드 A의 구독자에게 도착하지 않았습니다.");
+        assertEquals("다른 노드에서 보낸 답변", message.getContent());
+        session.disconnect();
+    }
+
+    private static ConfigurableApplicationContext startNode(int stompPort) throws InterruptedException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RelayNode.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "resumepro.websocket.broker=relay",
+                        "resumepro.websocket.relay.host=127.0.0.1",
+                        "resumepro.websocket.relay.port=" + stompPort)
+                .run();
+
+        AbstractBrokerMessageHandler relay =
+                context.getBean("stompBrokerRelayMessageHandler", AbstractBrokerMessageHandler.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!relay.isBrokerAvailable() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(relay.isBrokerAvailable(), "STOMP 브로커 릴레이가 연결되지 않았습니다.");
+        return context;
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            WebSocketMessagingAutoConfiguration.class
+    })
+    @Import(WebSocketConfig.class)
+    static class RelayNode {
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.resumepro.config;
+
+import org.example.resumepro.chat.ChatSession;
+import org.example.resumepro.chat.ChatSessionStore;
+import org.example.resumepro.entity.User;
+import org.example.resumepro.job.AnalysisJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StompAuthInterceptorTest {
+
+    private static final String EMAIL = "user@resumepro.test";
+
+    private final JwtUtil jwtUtil = new JwtUtil("", Duration.ofMinutes(15), Duration.ofDays(14));
+    private final ChatSessionStore chatSessionStore = mock(ChatSessionStore.class);
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @SuppressWarnings("unchecked")
+    private final StompAuthInterceptor interceptor = new StompAuthInterceptor(jwtUtil, chatSessionStore,
+            mock(AnalysisJobService.class), mock(ObjectProvider.class));
+
+    @Test
+    void connectWithoutCredentialsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> interceptor.preSend(connect(null, null), channel));
+    }
+
+    @Test
+    void connectWithAccessTokenUsesEmailAsPrincipal() {
+        String token = jwtUtil.createAccessToken(User.builder().id(1L).email(EMAIL).role("ROLE_USER").build());
+        Message<?> message = connect("Bearer " + token, null);
+
+        interceptor.preSend(message, channel);
+
+        assertEquals(EMAIL, StompHeaderAccessor.getUser(message.getHeaders()).getName());
+    }
+
+    @Test
+    void connectWithSessionLoginUsesSessionUser() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("user", User.builder().email(EMAIL).build());
+        Message<?> message = connect(null, attributes);
+
+        interceptor.preSend(message, channel);
+
+        assertEquals(EMAIL, StompHeaderAccessor.getUser(message.getHeaders()).getName());
+    }
+
+    @Test
+    void onlyOwnerCanSubscribeToChatTopic() {
+        when(chatSessionStore.get(1L)).thenReturn(new ChatSession("맥락", EMAIL, 0, 6));
+
+        interceptor.preSend(subscribe("/topic/messages/1", EMAIL), channel);
+        assertThrows(IllegalArgumentException.class,
+                () -> interceptor.preSend(subscribe("/topic/messages/1", "other@resumepro.test"), channel));
+        assertThrows(IllegalArgumentException.class,
+                () -> interceptor.preSend(subscribe("/topic/messages/1", null), channel));
+    }
+
+    private static Message<byte[]> connect(String authorization, Map<String, Object> sessionAttributes) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> subscribe(String destination, String email) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        if (email != null) {
+            Principal user = new UsernamePasswordAuthenticationToken(email, null, List.of());
+            accessor.setUser(user);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,370 @@
+package org.example.resumepro.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.example.resumepro.ai.StubChatModel;
+import org.example.resumepro.dto.ChatMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 분석 파이프라인 부하 테스트 (기준선). ./gradlew loadTest 로만 실행된다.
+ * 네트워크 없이 돌도록 Gemini 대신 고정 지연의 StubChatModel, MySQL 대신 H2(MySQL 모드)로 앱 전체를 띄우고
+ * REST 분석(/api/ai/resume-check)과 STOMP 상담(/app/chat/{id})을 동시에 호출해 처리량과 p50/p99를 출력한다.
+ * 일괄 분석(/api/ai/batches)은 PDF 여러 개를 담은 ZIP 하나를 올려 모든 항목이 끝날 때까지의 처리량을 출력한다.
+ *
+ * 요청 수/동시성/모델 지연/일괄 분석 파일 수는 -Dloadtest.requests, -Dloadtest.concurrency,
+ * -Dloadtest.llm-latency(ms), -Dloadtest.batch-files로 바꾼다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.ai.model.chat=none",
+        "spring.ai.model.embedding.text=none",
+        "spring.mail.host=localhost",
+        "spring.threads.virtual.enabled=true",
+        "management.tracing.enabled=false",
+        "resumepro.auth.stateless=true",
+        "resumepro.auth.password.bcrypt-strength=4",
+        "resumepro.storage.backfill.enabled=false",
+        // 메모리 DB는 매번 비어 있으므로 검색 색인도 따로 두고 처음부터 만든다.
+        "resumepro.search.index-dir=${java.io.tmpdir}/resumepro/loadtest-search-index",
+        "resumepro.search.rebuild-on-startup=true",
+        "resumepro.similar.index-dir=${java.io.tmpdir}/resumepro/loadtest-vector-index",
+        // 한도는 측정 대상이 아니므로 사실상 끈다.
+        "resumepro.ratelimit.user.capacity=1000000",
+        "resumepro.ratelimit.user.refill-interval=1ms",
+        "resumepro.ratelimit.batch.capacity=1000000",
+        "resumepro.ratelimit.batch.refill-interval=1ms",
+        "resumepro.ratelimit.global.max-concurrent=1024"
+})
+class AnalysisLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 500);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 50);
+    private static final Duration LLM_LATENCY = Duration.ofMillis(Long.getLong("loadtest.llm-latency", 200));
+    private static final int CHAT_SESSIONS = Math.min(CONCURRENCY, 20);
+    private static final int QUESTIONS_PER_SESSION = 5;
+    private static final int BATCH_FILES = Integer.getInteger("loadtest.batch-files", 100);
+
+    private static final String REPORT = "[강점]\n1. 백엔드 설계 경험이 구체적입니다.\n[약점]\n1. 수치 근거가 부족합니다.\n"
+            + "[개선 방향]\n1. 성과를 숫자로 표현하세요.\n[보완점]\n1. 테스트 경험을 추가하세요.\n[면접 전략]\n1. 장애 대응 사례를 준비하세요.";
+
+    @TestConfiguration
+    static class StubModelConfig {
+
+        @Bean
+        ChatModel chatModel() {
+            return new StubChatModel(REPORT).latency(StubChatModel.DEFAULT_MODEL, LLM_LATENCY);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void analysisAndChatThroughput() throws Exception {
+        String token = signupAndLogin();
+
+        // 1. REST 분석: 매 요청 이력서 내용을 달리해서 캐시/호출 병합 없이 파이프라인 전체를 태운다.
+        AtomicInteger failures = new AtomicInteger();
+        LatencyReport analysis = run(REQUESTS, i -> {
+            HttpResponse<String> response = post("/api/ai/resume-check", token,
+                    Map.of("resume", "부하 테스트 이력서 #" + i + "\nJava, Spring Boot, JPA 기반 백엔드 개발 3년"));
+            if (response.statusCode() != 200) failures.incrementAndGet();
+        });
+        analysis.print("REST /api/ai/resume-check");
+        assertEquals(0, failures.get(), "분석 요청 실패");
+
+        // 2. STOMP 상담: 이력마다 세션 하나씩 열고 질문을 차례로 보내 마지막 프레임까지 시간을 잰다.
+        List<Long> historyIds = historyIds(token, CHAT_SESSIONS);
+        assertFalse(historyIds.isEmpty(), "상담할 이력이 없습니다.");
+        LatencyReport chat = chat(token, historyIds);
+        chat.print("STOMP /app/chat/{historyId}");
+        assertEquals(0, chat.failures(), "상담 응답 실패/시간 초과");
+    }
+
+    @Test
+    void batchZipThroughput() throws Exception {
+        String token = signupAndLogin();
+        byte[] zip = zipOfPdfs(BATCH_FILES);
+
+        long start = System.nanoTime();
+        HttpResponse<String> submitted = postZip(token, zip);
+        assertEquals(202, submitted.statusCode(), submitted.body());
+        long acceptedNanos = System.nanoTime() - start;
+        String batchId = objectMapper.readTree(submitted.body()).get("batchId").asText();
+
+        // 진행 알림은 STOMP로도 오지만, 여기서는 완료 여부만 보면 되므로 상태 조회로 기다린다.
+        JsonNode batch;
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+        do {
+            Thread.sleep(100);
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/ai/batches/" + batchId))
+                    .header("Authorization", "Bearer " + token)
+                    .GET().build();
+            batch = objectMapper.readTree(http.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        } while (!batch.get("done").asBoolean() && System.nanoTime() < deadline);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int succeeded = 0;
+        for (JsonNode item : batch.get("items")) {
+            if ("SUCCEEDED".equals(item.get("status").asText())) succeeded++;
+        }
+        System.out.printf("BATCH /api/ai/batches: %d개 ZIP(%dKB), 접수 %dms, 전체 %.2fs = %.1f files/s, 성공=%d (모델 지연 %dms)%n",
+                BATCH_FILES, zip.length / 1024, TimeUnit.NANOSECONDS.toMillis(acceptedNanos), seconds,
+                BATCH_FILES / seconds, succeeded, LLM_LATENCY.toMillis());
+        assertTrue(batch.get("done").asBoolean(), "일괄 분석 시간 초과");
+        assertEquals(BATCH_FILES, succeeded);
+    }
+
+    private LatencyReport run(int requests, LoadStep step) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < CONCURRENCY; w++) {
+                futures.add(workers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long requestStart = System.nanoTime();
+                        step.execute(i);
+                        latencies.add(System.nanoTime() - requestStart);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new LatencyReport(latencies, System.nanoTime() - start, 0);
+    }
+
+    private LatencyReport chat(String token, List<Long> historyIds) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        // 질문은 문자열 그대로, 답변 프레임은 JSON(ChatMessage)
+        stompClient.setMessageConverter(new CompositeMessageConverter(
+                List.of(new StringMessageConverter(), new MappingJackson2MessageConverter())));
+
+        // STOMP CONNECT도 REST와 같은 access 토큰으로 인증한다.
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long historyId : historyIds) {
+                futures.add(workers.submit(() -> {
+                    StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws-chat",
+                            new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+                            }).get(10, TimeUnit.SECONDS);
+                    BlockingQueue<ChatMessage> frames = new LinkedBlockingQueue<>();
+                    session.subscribe("/topic/messages/" + historyId, new StompFrameHandler() {
+                        @Override
+                        public Type getPayloadType(StompHeaders headers) {
+                            return ChatMessage.class;
+                        }
+
+                        @Override
+                        public void handleFrame(StompHeaders headers, Object payload) {
+                            frames.add((ChatMessage) payload);
+                        }
+                    });
+                    try {
+                        for (int q = 0; q < QUESTIONS_PER_SESSION; q++) {
+                            long questionStart = System.nanoTime();
+                            session.send("/app/chat/" + historyId, "질문 " + q + ": 이 이력서의 가장 큰 약점은?");
+                            if (awaitLastFrame(frames)) {
+                                latencies.add(System.nanoTime() - questionStart);
+                            } else {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    } finally {
+                        session.disconnect();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            stompClient.stop();
+        }
+        return new LatencyReport(latencies, System.nanoTime() - start, failures.get());
+    }
+
+    private static boolean awaitLastFrame(BlockingQueue<ChatMessage> frames) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            ChatMessage frame = frames.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (frame == null) return false;
+            if (frame.isLast()) return true;
+        }
+    }
+
+    private String signupAndLogin() throws Exception {
+        Map<String, String> credentials = Map.of("email", "load@resumepro.test", "password", "load-test-password");
+        post("/api/auth/signup", null, Map.of("email", credentials.get("email"),
+                "password", credentials.get("password"), "nickname", "load"));
+        HttpResponse<String> login = post("/api/auth/login", null, credentials);
+        assertEquals(200, login.statusCode(), login.body());
+        return objectMapper.readTree(login.body()).get("accessToken").asText();
+    }
+
+    private List<Long> historyIds(String token, int count) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/ai/history?size=" + count))
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+        JsonNode page = objectMapper.readTree(http.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : page.get("items")) {
+            ids.add(item.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private HttpResponse<String> post(String path, String token, Map<String, String> body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // 큰 ZIP용 본문 업로드 (multipart 상한과 무관하게 resumepro.batch.max-upload-size까지)
+    private HttpResponse<String> postZip(String token, byte[] zip) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/ai/batches"))
+                .timeout(Duration.ofMinutes(2))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/zip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(zip))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // 한 쪽짜리 영문 이력서 PDF (기본 폰트만 써서 한글 폰트 없이도 만들 수 있다)
+    private static byte[] zipOfPdfs(int count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < count; i++) {
+                zip.putNextEntry(new ZipEntry("resume-" + i + ".pdf"));
+                zip.write(pdf("Candidate " + i));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] pdf(String candidate) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 11);
+                content.setLeading(14);
+                content.newLineAtOffset(50, 740);
+                content.showText(candidate + " - Backend Engineer");
+                for (int line = 1; line <= 40; line++) {
+                    content.newLine();
+                    content.showText(line + ". Built order APIs with Java, Spring Boot and JPA; cut p99 latency by 40%.");
+                }
+                content.endText();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @FunctionalInterface
+    private interface LoadStep {
+        void execute(int index) throws Exception;
+    }
+
+    private record LatencyReport(List<Long> latencies, long elapsedNanos, int failures) {
+
+        void print(String name) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("%s: %d건 / %.2fs = %.1f req/s, p50=%dms p99=%dms max=%dms, 실패=%d (동시성 %d, 모델 지연 %dms)%n",
+                    name, sorted.size(), seconds, sorted.size() / seconds,
+                    percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                    percentileMillis(sorted, 1.0), failures, CONCURRENCY, LLM_LATENCY.toMillis());
+        }
+
+        private static long percentileMillis(List<Long> sorted, double percentile) {
+            if (sorted.isEmpty()) return 0;
+            int index = Math.max(0, (int) Math.ceil(percentile * sorted.size()) - 1);
+            return TimeUnit.NANOSECONDS.toMillis(sorted.get(index));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.resumepro.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new MailDispatcher(mailSender(new JavaMailSenderImpl()), null, 1000, 2, 20, 3,
+                Duration.ofMillis(100), Duration.ofSeconds(30), "noreply@resumepro.test", meterRegistry);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void reportIsSentAsHtml() throws Exception {
+        dispatcher.enqueueReport("user@resumepro.test", "[강점]\n1. <Spring> 경험", null);
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertEquals(ReportMailTemplate.SUBJECT, received.getSubject());
+        String body = GreenMailUtil.getBody(received);
+        assertTrue(body.contains("&lt;Spring&gt;"), body);
+    }
+
+    @Test
+    void manyReportsAreSentOverPooledConnections() {
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            dispatcher.enqueueReport("user" + i + "@resumepro.test", "[강점]\n" + i, null);
+        }
+
+        assertTrue(greenMail.waitForIncomingEmail(30_000, count));
+        assertEquals(count, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void mailsLeftInBatchAreRetriedWhenServerDropsMidBatch() throws Exception {
+        int count = 10;
+        Set<String> delivered = ConcurrentHashMap.newKeySet();
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicInteger built = new AtomicInteger();
+        // 세 번째 메일을 만들 때 서버를 내려, 같은 배치 안에서 발송과 재연결이 모두 실패하게 한다.
+        JavaMailSenderImpl dropping = mailSender(new JavaMailSenderImpl() {
+            @Override
+            public MimeMessage createMimeMessage() {
+                if (built.incrementAndGet() == 3) {
+                    delivered.addAll(recipients());
+                    greenMail.stop();
+                    stopped.countDown();
+                }
+                return super.createMimeMessage();
+            }
+        });
+        MailDispatcher single = new MailDispatcher(dropping, null, 1000, 1, 20, 5,
+                Duration.ofMillis(100), Duration.ofSeconds(30), "noreply@resumepro.test", new SimpleMeterRegistry());
+        for (int i = 0; i < count; i++) {
+            single.enqueueReport("user" + i + "@resumepro.test", "[강점]\n" + i, null);
+        }
+        try {
+            // 한 배치로 묶이도록 다 넣은 뒤 워커를 띄운다.
+            single.start();
+            assertTrue(stopped.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            greenMail.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (delivered.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+                delivered.addAll(recipients());
+            }
+            assertEquals(count, delivered.size(), delivered.toString());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    private static Set<String> recipients() {
+        Set<String> recipients = new HashSet<>();
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            try {
+                recipients.add(message.getAllRecipients()[0].toString());
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return recipients;
+    }
+
+    private static JavaMailSenderImpl mailSender(JavaMailSenderImpl mailSender) {
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        return mailSender;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.resumepro.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.resumepro.dto.HistorySearchHit;
+import org.example.resumepro.dto.HistorySearchPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistorySearchIndexTest {
+
+    private static final String EMAIL = "user@resumepro.test";
+    private static final String OTHER = "other@resumepro.test";
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @TempDir
+    Path indexDir;
+
+    private HistorySearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new HistorySearchIndex(indexDir, 16, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void findsOnlyOwnHistoryWithHighlight() throws IOException {
+        index.index(List.of(
+                document(1, EMAIL, "쿠버네티스 기반 배포 자동화 경험", "배포 경험이 구체적입니다."),
+                document(2, EMAIL, "Spring Boot 기반 결제 서비스 개발", "성능 수치를 보완하세요."),
+                document(3, OTHER, "쿠버네티스 클러스터 운영", "운영 경험이 좋습니다.")));
+        index.refresh();
+
+        HistorySearchPage page = index.search(EMAIL, "쿠버네티스", 0, 10);
+
+        assertEquals(1, page.getTotalHits());
+        HistorySearchHit hit = page.getItems().get(0);
+        assertEquals(1L, hit.getId());
+        assertEquals(BASE.plusMinutes(1), hit.getCreatedAt());
+        assertTrue(hit.getResumeSnippet().contains("<em>"), hit.getResumeSnippet());
+        assertTrue(hit.getResumeSnippet().replaceAll("</?em>", "").contains("쿠버네티스"), hit.getResumeSnippet());
+    }
+
+    @Test
+    void englishTermsAreCaseInsensitiveAndHtmlIsEscaped() throws IOException {
+        index.index(List.of(document(1, EMAIL, "<b>Kubernetes</b> 운영", "")));
+        index.refresh();
+
+        HistorySearchHit hit = index.search(EMAIL, "kubernetes", 0, 10).getItems().get(0);
+
+        assertTrue(hit.getResumeSnippet().contains("&lt;b&gt;<em>Kubernetes</em>"), hit.getResumeSnippet());
+    }
+
+    @Test
+    void pagesThroughEqualScoresNewestFirst() throws IOException {
+        List<HistoryDocument> documents = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            documents.add(document(id, EMAIL, "Java 백엔드 개발", "좋습니다."));
+        }
+        index.index(documents);
+        index.refresh();
+
+        HistorySearchPage first = index.search(EMAIL, "백엔드", 0, 2);
+        HistorySearchPage last = index.search(EMAIL, "백엔드", 2, 2);
+
+        assertEquals(List.of(5L, 4L), first.getItems().stream().map(HistorySearchHit::getId).toList());
+        assertTrue(first.isHasNext());
+        assertEquals(List.of(1L), last.getItems().stream().map(HistorySearchHit::getId).toList());
+        assertFalse(last.isHasNext());
+    }
+
+    @Test
+    void reindexingSameIdReplacesDocument() throws IOException {
+        index.index(List.of(document(7, EMAIL, "Kafka 스트림 처리", "")));
+        index.index(List.of(document(7, EMAIL, "Redis 캐시 설계", "")));
+        index.refresh();
+
+        assertEquals(1, index.numDocs());
+        assertEquals(0, index.search(EMAIL, "Kafka", 0, 10).getTotalHits());
+        assertEquals(1, index.search(EMAIL, "Redis", 0, 10).getTotalHits());
+        assertEquals(7, index.maxIndexedId());
+    }
+
+    @Test
+    void committedDocumentsSurviveReopen() throws IOException {
+        index.index(List.of(document(3, EMAIL, "GraphQL API 설계", "")));
+        index.commit();
+        index.close();
+
+        index = new HistorySearchIndex(indexDir, 16, new SimpleMeterRegistry());
+
+        assertEquals(3, index.maxIndexedId());
+        assertEquals(1, index.search(EMAIL, "GraphQL", 0, 10).getTotalHits());
+    }
+
+    private static HistoryDocument document(long id, String email, String resume, String analysis) {
+        return new HistoryDocument(id, email, BASE.plusMinutes(id), resume, analysis);
+    }
+}
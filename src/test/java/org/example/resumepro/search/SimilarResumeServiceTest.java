@@ -0,0 +1,184 @@
+package org.example.resumepro.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.resumepro.ai.HashingEmbeddingModel;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.ResumeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SimilarResumeServiceTest {
+
+    private static final String EMAIL = "user@resumepro.test";
+    private static final String OTHER = "other@resumepro.test";
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static final String RESUME = """
+            홍길동 | 백엔드 개발자 | 5년차
+
+            [경력]
+            ABC커머스 (2021 ~ 현재) 주문/결제 플랫폼 개발
+            Spring Boot, JPA 기반 주문 API 설계 및 운영, 일 주문 50만 건 처리
+            Kafka 이벤트로 정산 시스템과 주문 시스템 분리, 장애 전파 차단
+
+            [프로젝트]
+            결제 승인 지연 개선: Redis 캐시와 비동기 처리로 p99 응답 시간 1.2초에서 300ms로 단축
+            레거시 모놀리스 분리: 배송 도메인을 별도 서비스로 이전하고 배포 주기 주 1회에서 일 3회로 개선
+
+            [기술]
+            Java, Kotlin, Spring Boot, JPA, MySQL, Redis, Kafka, Kubernetes, AWS
+            """;
+
+    @TempDir
+    Path indexDir;
+
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResumeVectorIndex index;
+    private SimilarResumeService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        index = new ResumeVectorIndex(indexDir, meterRegistry);
+        service = new SimilarResumeService(index, resumeRepository, mock(ObjectProvider.class),
+                true, "local", "", 256, 3, 0.97, 0.8, 8000, 100, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void hashingEmbeddingIsDeterministicAndNormalized() {
+        EmbeddingModel model = new HashingEmbeddingModel(256);
+
+        float[] first = model.embed(RESUME);
+        float[] second = new HashingEmbeddingModel(256).embed(RESUME);
+
+        assertArrayEquals(first, second);
+        double norm = 0;
+        for (float v : first) {
+            norm += v * v;
+        }
+        assertEquals(1.0, norm, 1e-4);
+    }
+
+    @Test
+    void nearDuplicateReusesPreviousAnalysis() throws IOException {
+        stored(history(1, EMAIL, RESUME, "이전 분석 결과"));
+
+        SimilarResumeService.Lookup lookup = service.lookup(RESUME.replace("50만 건", "60만 건"), EMAIL);
+
+        assertTrue(lookup.isNearDuplicate());
+        assertEquals("이전 분석 결과", lookup.reusedAnalysis());
+        assertEquals(1, meterRegistry.get("resumepro.similar.lookup").tag("outcome", "reused").timer().count());
+    }
+
+    @Test
+    void incompleteAnalysisIsNotReused() throws IOException {
+        ResumeHistory degraded = ResumeHistory.builder()
+                .id(1L)
+                .userEmail(EMAIL)
+                .legacyUserResume(RESUME)
+                .aiResponse("[강점]\n이 항목은 지금 생성하지 못했습니다.")
+                .complete(false)
+                .createdAt(BASE)
+                .build();
+        stored(degraded);
+
+        SimilarResumeService.Lookup lookup = service.lookup(RESUME, EMAIL);
+
+        assertFalse(lookup.isNearDuplicate());
+        assertFalse(lookup.hasReferences());
+    }
+
+    @Test
+    void similarResumeAddsPreviousAnalysisAsReference() throws IOException {
+        stored(history(1, EMAIL, RESUME, "[약점]\n정량적 성과가 부족합니다."));
+        String changed = RESUME.replace("[기술]", """
+                [자격증]
+                정보처리기사, AWS Solutions Architect Associate
+
+                [교육]
+                한국대학교 컴퓨터공학과 졸업 (2019)
+
+                [기술]""");
+
+        SimilarResumeService.Lookup lookup = service.lookup(changed, EMAIL);
+
+        assertFalse(lookup.isNearDuplicate());
+        assertTrue(lookup.hasReferences());
+        assertTrue(lookup.referenceContext().contains("2025-01-01"), lookup.referenceContext());
+        assertTrue(lookup.referenceContext().contains("정량적 성과가 부족합니다."), lookup.referenceContext());
+    }
+
+    @Test
+    void otherUsersHistoryIsNeverUsed() throws IOException {
+        stored(history(1, OTHER, RESUME, "다른 사용자의 분석"));
+
+        assertEquals(SimilarResumeService.Lookup.NONE, service.lookup(RESUME, EMAIL));
+        assertEquals(1, service.findSimilar(RESUME, null, 3).size());
+    }
+
+    @Test
+    void unrelatedResumeHasNoReference() throws IOException {
+        stored(history(1, EMAIL, RESUME, "이전 분석 결과"));
+
+        SimilarResumeService.Lookup lookup = service.lookup("""
+                김영희 | 프로덕트 디자이너 | 3년차
+                [경력] 모바일 앱 UX 리서치, 사용성 테스트 설계, 디자인 시스템 구축
+                [도구] Figma, Sketch, Protopie
+                """, EMAIL);
+
+        assertEquals(SimilarResumeService.Lookup.NONE, lookup);
+        verify(resumeRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void reconcileIndexesRowsMissingFromTheIndex() throws IOException {
+        // id 2는 나중에 커밋됐거나 다른 노드가 저장해 이 노드의 색인에 없는 행
+        stored(history(1, EMAIL, RESUME, "분석 1"), history(3, EMAIL, RESUME, "분석 3"));
+        ResumeHistory missing = history(2, EMAIL, RESUME, "분석 2");
+        when(resumeRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L, 3L));
+        when(resumeRepository.findIdsAfter(eq(3L), any())).thenReturn(List.of());
+        when(resumeRepository.findWithContentByIdIn(List.of(2L))).thenReturn(List.of(missing));
+
+        service.reconcileAll();
+
+        assertEquals(3, index.numDocs());
+        verify(resumeRepository).findWithContentByIdIn(List.of(2L));
+    }
+
+    private void stored(ResumeHistory... histories) throws IOException {
+        service.indexAll(List.of(histories));
+        index.refresh();
+        when(resumeRepository.findAllById(any())).thenReturn(List.of(histories));
+    }
+
+    private static ResumeHistory history(long id, String email, String resume, String analysis) {
+        return ResumeHistory.builder()
+                .id(id)
+                .userEmail(email)
+                .legacyUserResume(resume)
+                .aiResponse(analysis)
+                .complete(true)
+                .createdAt(BASE.plusMinutes(id))
+                .build();
+    }
+}
@@ -1,4 +1,128 @@
+package org.example.resumepro.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.example.resumepro.ai.CaffeineAnalysisCache;
+import org.example.resumepro.ai.LlmCallCoalescer;
+import org.example.resumepro.ai.PromptBuilder;
+import org.example.resumepro.ai.SectionedReview;
+import org.example.resumepro.ai.StubChatModel;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.observability.AnalysisStages;
+import org.example.resumepro.pdf.DocumentTextExtractor;
+import org.example.resumepro.pdf.PdfReportService;
+import org.example.resumepro.repository.ResumeRepository;
+import org.example.resumepro.search.SimilarResumeService;
+import org.example.resumepro.storage.HistoryWriteBuffer;
+import org.example.resumepro.storage.ResumeContentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
 class AiServiceTest {
-  
-}
\ No newline at end of file
+
+    private static final String EMAIL = "user@resumepro.test";
+    private static final String REPORT = "### [강점]\n**백엔드** 경험이 풍부합니다.\n- 협업 사례가 구체적입니다.";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HistoryWriteBuffer historyWriteBuffer = mock(HistoryWriteBuffer.class);
+    private final SimilarResumeService similarResumeService = mock(SimilarResumeService.class);
+    private StubChatModel chatModel;
+    private AiService aiService;
+
+    @BeforeEach
+    void setUp() {
+        // 쓰기 버퍼는 바로 저장된 것처럼 완료시킨다.
+        when(historyWriteBuffer.enqueue(any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+        when(similarResumeService.lookup(any(), any())).thenReturn(SimilarResumeService.Lookup.NONE);
+        chatModel = new StubChatModel(REPORT);
+        ChatClient chatClient = ChatClient.create(chatModel);
+        aiService = new AiService(chatClient, mock(ResumeRepository.class),
+                new CaffeineAnalysisCache(100, Duration.ofMinutes(1), meterRegistry),
+                new LlmCallCoalescer(Duration.ofSeconds(5), meterRegistry),
+                mock(PdfReportService.class), mock(DocumentTextExtractor.class), mock(ResumeContentService.class),
+                historyWriteBuffer, new AnalysisStages(ObservationRegistry.create()),
+                new SectionedReview(chatClient, false, Duration.ofSeconds(5), meterRegistry),
+                new PromptBuilder(8000, 8000, meterRegistry), similarResumeService);
+    }
+
+    @Test
+    void blankResumeIsNotAnalyzed() {
+        assertEquals("분석할 내용이 없습니다.", aiService.checkAndSaveResume("  ", EMAIL));
+        assertEquals(0, chatModel.calls());
+        verifyNoInteractions(historyWriteBuffer);
+    }
+
+    @Test
+    void responseIsCleanedAndSaved() {
+        String response = aiService.checkAndSaveResume("Java 백엔드 개발자 이력서", EMAIL);
+
+        assertFalse(response.contains("#") || response.contains("*"), response);
+        assertTrue(response.contains("• 협업 사례가 구체적입니다."), response);
+
+        ArgumentCaptor<ResumeHistory> saved = ArgumentCaptor.forClass(ResumeHistory.class);
+        verify(historyWriteBuffer).enqueue(saved.capture());
+        assertEquals(EMAIL, saved.getValue().getUserEmail());
+        assertEquals(response, saved.getValue().getAiResponse());
+        assertNotNull(saved.getValue().getContentHash());
+        assertTrue(saved.getValue().getCacheable());
+        assertTrue(saved.getValue().getComplete());
+    }
+
+    @Test
+    void sameResumeIsAnalyzedOnceButSavedEachTime() {
+        String first = aiService.checkAndSaveResume("같은 이력서", EMAIL);
+        String second = aiService.checkAndSaveResume("같은 이력서", EMAIL);
+
+        assertEquals(first, second);
+        assertEquals(1, chatModel.calls());
+        verify(historyWriteBuffer, times(2)).enqueue(any());
+    }
+
+    @Test
+    void nearDuplicateReusesPreviousAnalysis() {
+        when(similarResumeService.lookup(any(), any())).thenReturn(new SimilarResumeService.Lookup("이전 분석 결과", ""));
+
+        String response = aiService.checkAndSaveResume("한 줄만 고친 이력서", EMAIL);
+
+        assertEquals("이전 분석 결과", response);
+        assertEquals(0, chatModel.calls());
+        // 다른 내용의 분석이므로 이 내용 해시의 캐시 결과로는 쓰지 않는다.
+        ArgumentCaptor<ResumeHistory> saved = ArgumentCaptor.forClass(ResumeHistory.class);
+        verify(historyWriteBuffer).enqueue(saved.capture());
+        assertFalse(saved.getValue().getCacheable());
+    }
+
+    @Test
+    void modelFailureIsReturnedAsMessage() {
+        chatModel.failing(StubChatModel.DEFAULT_MODEL, true);
+
+        String response = aiService.checkAndSaveResume("실패하는 이력서", EMAIL);
+
+        assertTrue(response.startsWith("AI 분석 중 오류가 발생했습니다"), response);
+        verifyNoInteractions(historyWriteBuffer);
+    }
+
+    @Test
+    void streamEmitsCleanedChunksAndSavesFullResponse() {
+        List<String> chunks = aiService.streamAndSaveResume("스트리밍 이력서", EMAIL).collectList().block();
+
+        assertNotNull(chunks);
+        String streamed = String.join("", chunks);
+        assertFalse(streamed.contains("#") || streamed.contains("*"), streamed);
+
+        ArgumentCaptor<ResumeHistory> saved = ArgumentCaptor.forClass(ResumeHistory.class);
+        verify(historyWriteBuffer).enqueue(saved.capture());
+        assertEquals(streamed, saved.getValue().getAiResponse());
+    }
+}
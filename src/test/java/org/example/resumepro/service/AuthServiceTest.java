@@ -1,4 +1,125 @@
+package org.example.resumepro.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.resumepro.entity.User;
+import org.example.resumepro.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
 class AuthServiceTest {
-  
-}
\ No newline at end of file
+
+    private static final String EMAIL = "user@resumepro.test";
+    private static final String PASSWORD = "resume-pro-password!";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private PasswordHasher passwordHasher;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트 시간을 줄이려고 낮은 강도(4)를 쓴다. 매칭 기본값은 SecurityConfig와 같이 BCrypt.
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(4)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(4));
+        passwordHasher = new PasswordHasher(encoder, 1, 16, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        authService = new AuthService(userRepository, passwordHasher, 100, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void signupStoresPrefixedHashAndDefaultRole() {
+        User user = User.builder().email(EMAIL).password(PASSWORD).nickname("tester").build();
+
+        authService.signup(user);
+
+        verify(userRepository).saveAndFlush(user);
+        assertTrue(user.getPassword().startsWith("{bcrypt}"));
+        assertNotEquals(PASSWORD, user.getPassword());
+        assertEquals("ROLE_USER", user.getRole());
+        assertEquals("local", user.getProvider());
+    }
+
+    @Test
+    void signupWithDuplicateEmailFails() {
+        when(userRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> authService.signup(User.builder().email(EMAIL).password(PASSWORD).build()));
+        assertEquals("이미 존재하는 이메일입니다.", e.getMessage());
+    }
+
+    @Test
+    void loginCachesUserLookup() {
+        User stored = storedUser(passwordHasher.encode(PASSWORD));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(stored));
+
+        User first = authService.login(EMAIL, PASSWORD);
+        User second = authService.login(EMAIL, PASSWORD);
+
+        assertEquals(1L, first.getId());
+        assertEquals(EMAIL, second.getEmail());
+        assertEquals("ROLE_USER", second.getRole());
+        // 캐시는 불변 사본을 두고 요청마다 새 User를 돌려준다 (요청끼리 엔티티를 공유하지 않는다).
+        assertNotSame(first, second);
+        assertNotSame(stored, first);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        verify(userRepository, never()).updatePassword(any(), anyString());
+    }
+
+    @Test
+    void loginWithWrongPasswordFails() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(storedUser(passwordHasher.encode(PASSWORD))));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> authService.login(EMAIL, "wrong"));
+        assertEquals("비밀번호가 일치하지 않습니다.", e.getMessage());
+    }
+
+    @Test
+    void loginWithUnknownEmailFails() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> authService.login(EMAIL, PASSWORD));
+        assertEquals("사용자를 찾을 수 없습니다.", e.getMessage());
+    }
+
+    @Test
+    void legacyUnprefixedHashIsUpgradedOnLogin() {
+        // 접두어 없이 저장된 예전 BCrypt 해시
+        String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        User stored = storedUser(legacy);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(stored));
+
+        User user = authService.login(EMAIL, PASSWORD);
+
+        verify(userRepository).updatePassword(eq(1L), startsWith("{bcrypt}"));
+        assertTrue(user.getPassword().startsWith("{bcrypt}"));
+        // 갱신된 해시로도 로그인되고, 다시 갱신하지 않는다.
+        assertEquals(EMAIL, authService.login(EMAIL, PASSWORD).getEmail());
+        verify(userRepository, times(1)).updatePassword(any(), anyString());
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    private static User storedUser(String encodedPassword) {
+        return User.builder().id(1L).email(EMAIL).password(encodedPassword).nickname("tester")
+                .role("ROLE_USER").provider("local").build();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.resumepro.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.resumepro.entity.ResumeHistory;
+import org.example.resumepro.repository.ResumeContentRepository;
+import org.example.resumepro.repository.ResumeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class HistoryWriteBufferTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private HistoryWriteBuffer buffer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (buffer != null) buffer.shutdown();
+    }
+
+    @Test
+    void databaseOutageFailsCallerWithoutSpooling() throws IOException {
+        doThrow(new CannotCreateTransactionException("DB 연결 실패"))
+                .when(transactionTemplate).executeWithoutResult(any());
+        buffer = start();
+
+        CompletableFuture<ResumeHistory> saved = buffer.enqueue(ResumeHistory.builder().userEmail("user@resumepro.test").build());
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> saved.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CannotCreateTransactionException.class, error.getCause());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unreadableSpoolFileIsQuarantinedAndOthersAreReplayed() throws IOException {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        Files.writeString(spoolDir.resolve("history-spool-1.jsonl"), "{깨진 줄\n", StandardCharsets.UTF_8);
+        Files.writeString(spoolDir.resolve("history-spool-2.jsonl"),
+                "{\"userEmail\":\"user@resumepro.test\",\"aiResponse\":\"분석\",\"contentHash\":\"h\",\"cacheable\":true}\n",
+                StandardCharsets.UTF_8);
+
+        buffer = start();
+
+        verify(resumeRepository, times(1)).saveAll(any(List.class));
+        assertTrue(Files.exists(spoolDir.resolve("failed").resolve("history-spool-1.jsonl")));
+        assertFalse(Files.exists(spoolDir.resolve("history-spool-1.jsonl")));
+        assertFalse(Files.exists(spoolDir.resolve("history-spool-2.jsonl")));
+    }
+
+    private HistoryWriteBuffer start() {
+        HistoryWriteBuffer started = new HistoryWriteBuffer(resumeRepository, mock(ResumeContentRepository.class),
+                transactionTemplate, mock(JdbcTemplate.class), new ObjectMapper().findAndRegisterModules(),
+                mock(ApplicationEventPublisher.class), 100, 10, Duration.ofMillis(10), spoolDir,
+                new SimpleMeterRegistry());
+        started.start();
+        return started;
+    }
+}
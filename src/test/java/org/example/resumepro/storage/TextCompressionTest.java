@@ -0,0 +1,32 @@
+package org.example.resumepro.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextCompressionTest {
+
+    @Test
+    void longTextIsDeflatedAndRestored() {
+        String text = "[강점]\n1. Spring Boot 기반 백엔드 개발 경험이 풍부합니다.\n".repeat(50);
+
+        byte[] stored = TextCompression.compress(text);
+
+        assertEquals(TextCompression.DEFLATE, stored[0]);
+        assertTrue(stored.length < text.getBytes(java.nio.charset.StandardCharsets.UTF_8).length);
+        assertEquals(text, TextCompression.decompress(stored));
+    }
+
+    @Test
+    void shortTextIsStoredRaw() {
+        byte[] stored = TextCompression.compress("짧은 이력서");
+
+        assertEquals(TextCompression.RAW, stored[0]);
+        assertEquals("짧은 이력서", TextCompression.decompress(stored));
+    }
+
+    @Test
+    void unknownFormatVersionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TextCompression.decompress(new byte[]{9, 1, 2}));
+    }
+}